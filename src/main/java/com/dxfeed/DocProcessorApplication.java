@@ -4,11 +4,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import com.dxfeed.config.AppConfig;
 
+import java.util.Arrays;
+
 @Slf4j
 @Configuration
 @SpringBootApplication
@@ -17,7 +20,10 @@ import com.dxfeed.config.AppConfig;
 public class DocProcessorApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(DocProcessorApplication.class, args);
+		SpringApplication application = new SpringApplication(DocProcessorApplication.class);
+		// embedded web server is started in server mode only
+		application.setWebApplicationType(Arrays.asList(args).contains("--server") ? WebApplicationType.SERVLET : WebApplicationType.NONE);
+		application.run(args);
 	}
 
 }
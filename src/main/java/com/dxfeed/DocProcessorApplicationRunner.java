@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -31,6 +32,12 @@ public class DocProcessorApplicationRunner implements CommandLineRunner, Applica
     private final @NonNull FileProcessor fileProcessor;
     private final @NonNull ZendeskFacade zendeskFacade;
 
+    @Value("${server.address:127.0.0.1}")
+    private String serverAddress;
+
+    @Value("${server.port:8088}")
+    private int serverPort;
+
     private ConfigurableApplicationContext applicationContext;
 
     @Override
@@ -56,6 +63,10 @@ public class DocProcessorApplicationRunner implements CommandLineRunner, Applica
                 if (!checkConfiguration()) {
                     printUsage();
                     exitCode = 1;
+                } else if (appConfig.server()) {
+                    // context stays open, jobs are accepted by JobController until the process is stopped
+                    log.info("accepting publish jobs on http://{}:{}/jobs", serverAddress, serverPort);
+                    return;
                 } else {
                     System.out.println(processor.process());
                 }
@@ -73,6 +84,7 @@ public class DocProcessorApplicationRunner implements CommandLineRunner, Applica
         || StringUtils.isNotBlank(appConfig.user()) && (StringUtils.isBlank(appConfig.url()) || StringUtils.isBlank(appConfig.token()))
         || StringUtils.isNotBlank(appConfig.token()) && (StringUtils.isBlank(appConfig.user()) || StringUtils.isBlank(appConfig.url()))
         || (StringUtils.isBlank(appConfig.dir()) && StringUtils.isBlank(appConfig.file()) && !appConfig.deleteAll())
+        || (StringUtils.isBlank(appConfig.dir()) && appConfig.server())
         )
         ;
     }
@@ -85,6 +97,15 @@ public class DocProcessorApplicationRunner implements CommandLineRunner, Applica
         System.out.println("\t--user\t\t\tZendesk user with publish rights");
         System.out.println("\t--token\t\t\tZendesk access token");
         System.out.println("\t--profile\t\tNon-standard profile to use during documents upload (profile configuration will be read from .properties.<profile> file in each directory)");
+        System.out.println("\t--cache-dir\t\tDirectory to cache converted documents in (unchanged documents won't be converted again)");
+        System.out.println("\t--manifest\t\tPublish manifest file (default: .a2z-manifest.json in library root)");
+        System.out.println("\t--force\t\t\tPublish all articles, even if they were not changed since last publication");
+        System.out.println("\t--plan\t\t\tPrint synchronization plan (categories, sections and articles to be changed) without publishing");
+        System.out.println("\t--apply\t\t\tBuild synchronization plan and apply it, independent changes are published in parallel");
+        System.out.println("\t--git\t\t\tPublish only files changed since last published commit of library git repository");
+        System.out.println("\t--since\t\t\tCommit to take changes from (implies --git, default: last published commit)");
+        System.out.println("\t--watch\t\t\tKeep watching directory and republish changed documents (stop with Ctrl+C)");
+        System.out.println("\t--server\t\tStay resident and accept publish jobs over HTTP (see server.address and server.port settings)");
         System.out.println("\t--clean\t\t\tRemove articles from ZenDesk server, which are not exist in local repository");
         System.out.println("\t--delete-all\tRemove all articles from ZenDesk server");
         System.exit(1);
@@ -16,6 +16,15 @@ import org.springframework.stereotype.Component;
  *   a2z.url     - zendesk server URL
  *   a2z.user    - zendesk server user
  *   a2z.token   - zendesk server password
+ *   a2z.cache-dir - conversion cache directory
+ *   a2z.manifest  - publish manifest file
+ *   a2z.force     - publish all articles regardless of publish manifest state
+ *   a2z.plan      - print synchronization plan only (dry run)
+ *   a2z.apply     - build synchronization plan and apply it
+ *   a2z.git       - publish only files changed since last published commit
+ *   a2z.since     - commit to take changes from (instead of last published one)
+ *   a2z.watch     - keep watching input directory and republish changed documents
+ *   a2z.server    - stay resident and accept publish jobs over HTTP
  *
  */
 
@@ -32,9 +41,18 @@ public class AppConfig {
     private String  file;
     private String  test;
     private String  profile; // configuration file suffix (.properties.profile)
+    private String  cacheDir;
+    private String  manifest;
+    private boolean force;
     private Integer group;
     private boolean clean;
     private boolean deleteAll;
+    private boolean plan;
+    private boolean apply;
+    private boolean git;
+    private String  since;
+    private boolean watch;
+    private boolean server;
 
     public void print() {
         System.out.println("input directory: " + dir);
@@ -47,6 +65,15 @@ public class AppConfig {
         System.out.println("delete all flag: " + deleteAll);
         System.out.println("config profile : " + profile);
         System.out.println("config file    : " + getConfigFileName());
+        System.out.println("cache directory: " + cacheDir);
+        System.out.println("manifest file  : " + manifest);
+        System.out.println("force flag     : " + force);
+        System.out.println("plan flag      : " + plan);
+        System.out.println("apply flag     : " + apply);
+        System.out.println("git flag       : " + git);
+        System.out.println("since commit   : " + since);
+        System.out.println("watch flag     : " + watch);
+        System.out.println("server flag    : " + server);
     }
 
     public String getConfigFileName() {
@@ -23,9 +23,37 @@ public class CommandLineArguments {
         if (args.containsOption("profile")) {
             appConfig.profile(args.getOptionValues("profile").get(0));
         }
+        if (args.containsOption("cache-dir")) {
+            appConfig.cacheDir(args.getOptionValues("cache-dir").get(0));
+        }
+        if (args.containsOption("manifest")) {
+            appConfig.manifest(args.getOptionValues("manifest").get(0));
+        }
+        if (args.containsOption("force")) {
+            appConfig.force(true);
+        }
         if (args.containsOption("clean")) {
             appConfig.clean(true);
         }
+        if (args.containsOption("plan")) {
+            appConfig.plan(true);
+        }
+        if (args.containsOption("apply")) {
+            appConfig.apply(true);
+        }
+        if (args.containsOption("git")) {
+            appConfig.git(true);
+        }
+        if (args.containsOption("since")) {
+            appConfig.git(true);
+            appConfig.since(args.getOptionValues("since").get(0));
+        }
+        if (args.containsOption("watch")) {
+            appConfig.watch(true);
+        }
+        if (args.containsOption("server")) {
+            appConfig.server(true);
+        }
         if (args.containsOption("delete-all")) {
             appConfig.deleteAll(true);
         }
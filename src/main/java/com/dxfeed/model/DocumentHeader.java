@@ -0,0 +1,25 @@
+package com.dxfeed.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * document metadata taken from header comments (see {@link com.dxfeed.parser.HeaderParser})
+ */
+@Getter
+@Setter
+@Accessors(fluent = true)
+public class DocumentHeader {
+
+    private String       title    = "";
+    private String       oldTitle = "";
+    private int          position = Integer.MAX_VALUE;
+    private boolean      draft    = false;
+    private boolean      promoted = false;
+    private List<String> tags     = new ArrayList<>();
+
+}
@@ -0,0 +1,25 @@
+package com.dxfeed.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * change of a library file (taken from git diff or from file system events)
+ */
+@Getter
+@Setter
+@Accessors(fluent = true)
+public class FileChange {
+
+    public enum Type { ADDED, MODIFIED, DELETED, RENAMED }
+
+    private Type   type;
+    private String path;    // relative to library directory
+    private String oldPath; // for renamed files only
+
+    @Override
+    public String toString() {
+        return type + " " + (null == oldPath ? "" : oldPath + " -> ") + path;
+    }
+}
@@ -0,0 +1,24 @@
+package com.dxfeed.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * category or section data taken from directory properties (see {@link com.dxfeed.zendesk.ZendeskTools})
+ */
+@Getter
+@Setter
+@Accessors(fluent = true)
+public class HierarchyEntry {
+
+    private String name;
+    private String oldName;
+    private String description = "";
+    private long   position    = 0;
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -20,6 +20,7 @@ public class ProcessingResult {
         RT_PUB_SUCCESS,  // publication success
         RT_PUB_DRAFT,    // draft published
         RT_PUB_FAILURE,  // publication failure
+        RT_PUB_UNCHANGED,// publication skipped as article was not changed since last publication
         RT_DEL_SUCCESS,  // removal success
         RT_DEL_FAILURE,  // removal failure
         RT_FILE_SKIPPED, // document skipped due to being "hidden"
@@ -0,0 +1,163 @@
+package com.dxfeed.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.apache.commons.lang.StringUtils;
+import org.zendesk.client.v2.model.hc.Article;
+import org.zendesk.client.v2.model.hc.Category;
+import org.zendesk.client.v2.model.hc.Section;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * synchronization plan: local library model (categories, sections and articles) diffed against help center snapshot
+ *
+ * every local entity has its operation (with empty action set if nothing is to be changed), so that operations
+ * of lower levels could refer to their parents; article removals are planned for stale articles of known sections
+ *
+ */
+@Getter
+@Accessors(fluent = true)
+public class SyncPlan {
+
+    public enum Action {
+        CREATE,
+        UPDATE,  // description, body or flags changed
+        RENAME,
+        MOVE,    // article is to be moved to another section
+        REORDER, // position changed (only siblings out of order are moved, see ReorderPlanner)
+        DELETE
+    }
+
+    @Getter
+    @Setter
+    @Accessors(fluent = true)
+    public abstract static class Operation {
+        private final Set<Action> actions = EnumSet.noneOf(Action.class);
+        private String source; // directory or file the operation comes from
+        private String name;
+        private String oldName;
+
+        public boolean changed() {
+            return !actions.isEmpty();
+        }
+
+        public Operation add(Action action) {
+            actions.add(action);
+            return this;
+        }
+
+        abstract String kind();
+        abstract String location();
+
+        @Override
+        public String toString() {
+            String actionList = actions.stream().map(Action::name).collect(Collectors.joining(","));
+            String title = (actions.contains(Action.RENAME) && StringUtils.isNotBlank(oldName))
+                ? "'" + oldName + "' -> '" + name + "'"
+                : "'" + name + "'";
+            return String.format("%-22s %-8s %s%s", actionList, kind(), title, location());
+        }
+    }
+
+    @Getter
+    @Setter
+    @Accessors(fluent = true)
+    public static class CategoryOperation extends Operation {
+        private Category existing;
+        private String   description = "";
+        private long     position    = 0;
+
+        String kind() {
+            return "category";
+        }
+        String location() {
+            return "";
+        }
+    }
+
+    @Getter
+    @Setter
+    @Accessors(fluent = true)
+    public static class SectionOperation extends Operation {
+        private CategoryOperation category;
+        private Section           existing;
+        private String            description = "";
+        private long              position    = 0;
+
+        String kind() {
+            return "section";
+        }
+        String location() {
+            return " (" + category.name() + ")";
+        }
+    }
+
+    @Getter
+    @Setter
+    @Accessors(fluent = true)
+    public static class ArticleOperation extends Operation {
+        private SectionOperation section;
+        private Article          existing;
+        private Document         document;
+        private String           convertedDocument;
+        private String           fingerprint;
+        private Long             position; // planned position, null if article is not to be moved
+
+        String kind() {
+            return "article";
+        }
+        String location() {
+            return " (" + section.category().name() + " / " + section.name() + ")"
+                + (null == existing || null == existing.getId() ? "" : " #" + existing.getId());
+        }
+    }
+
+    private final List<CategoryOperation> categories = new ArrayList<>();
+    private final List<SectionOperation>  sections   = new ArrayList<>();
+    private final List<ArticleOperation>  articles   = new ArrayList<>();
+    private final ProcessingResult        result     = new ProcessingResult(); // skipped directories and unreadable files
+
+    public Stream<Operation> operations() {
+        return Stream.of(categories.stream(), sections.stream(), articles.stream()).flatMap(s -> s);
+    }
+
+    public List<Operation> changes() {
+        return operations().filter(Operation::changed).collect(Collectors.toList());
+    }
+
+    public Map<Action, Integer> summary() {
+        Map<Action, Integer> summary = new EnumMap<>(Action.class);
+        for (Action action : Action.values())
+            summary.put(action, 0);
+        operations().forEach(o -> o.actions().forEach(a -> summary.merge(a, 1, Integer::sum)));
+        return summary;
+    }
+
+    public void print() {
+        System.out.print(format());
+    }
+
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        text.append("--- Synchronization Plan ---------------------------------------").append("\n");
+        List<Operation> changes = changes();
+        if (changes.isEmpty())
+            text.append("no changes").append("\n");
+        changes.forEach(o -> text.append(o).append("\n"));
+        text.append("----------------------------------------------------------------").append("\n");
+        summary().forEach((action, count) -> text.append(String.format("%-22s : %d", action.name().toLowerCase(), count)).append("\n"));
+        text.append(String.format("%-22s : %d", "unchanged", operations().filter(o -> !o.changed()).count())).append("\n");
+        text.append(String.format("%-22s : %d", "skipped directories", result.get(ProcessingResult.ResultType.RT_DIR_SKIPPED).get())).append("\n");
+        return text.toString();
+    }
+
+}
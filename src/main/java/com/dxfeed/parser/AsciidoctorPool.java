@@ -0,0 +1,214 @@
+package com.dxfeed.parser;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.asciidoctor.Asciidoctor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.dxfeed.processor.*;
+import com.dxfeed.zendesk.ZendeskFacade;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * bounded pool of pre-initialized Asciidoctor instances
+ *
+ * JRuby runtime boot is the most expensive part of document conversion, so instances are created lazily
+ * (up to pool size) and reused across documents; an instance is recycled (shut down and replaced) after
+ * configured number of conversions or after a failed conversion / health check
+ *
+ * configuration:
+ *
+ *   asciidoc.pool.size            - number of instances (0 means number of available processors)
+ *   asciidoc.pool.max-conversions - number of conversions after which instance will be recycled
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class AsciidoctorPool {
+
+    @Value("${asciidoc.pool.size:0}")
+    private int poolSize;
+
+    @Value("${asciidoc.pool.max-conversions:100}")
+    private int maxConversions;
+
+    private final @NonNull ZendeskFacade zendeskFacade;
+
+    private final BlockingQueue<Lease> idle   = new LinkedBlockingQueue<>();
+    private volatile boolean           closed = false;
+
+    // one permit per lease, so that instances (idle or leased) never outnumber pool size and every permit released
+    // (on return or recycling of an instance) wakes a waiting borrower
+    private Semaphore leases;
+
+    @PostConstruct
+    private void init() {
+        leases = new Semaphore(size(), true);
+    }
+
+    public int size() {
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * borrow Asciidoctor instance from pool (blocks if all instances are in use);
+     * lease should be closed after use to return instance back to the pool
+     *
+     * @return leased instance
+     */
+    public Lease borrow() {
+        if (closed)
+            throw new IllegalStateException("asciidoctor pool is closed");
+        try {
+            leases.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for asciidoctor instance", e);
+        }
+        try {
+            Lease lease;
+            while (null != (lease = idle.poll())) {
+                if (isHealthy(lease)) {
+                    lease.released = false;
+                    return lease;
+                }
+                destroy(lease);
+            }
+            // no idle instance while holding a permit means there is room for a new one
+            return new Lease(initializeAsciidoctor());
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+
+    private void release(Lease lease) {
+        lease.released = true;
+        try {
+            if (closed || lease.broken || ++lease.conversions >= maxConversions) {
+                log.trace("recycling asciidoctor instance after {} conversions", lease.conversions);
+                destroy(lease);
+            } else {
+                idle.offer(lease);
+            }
+        } finally {
+            leases.release();
+        }
+    }
+
+    private boolean isHealthy(Lease lease) {
+        try {
+            return null != lease.asciidoctor.asciidoctorVersion();
+        } catch (Exception e) {
+            log.warn("asciidoctor instance health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(Lease lease) {
+        try {
+            lease.asciidoctor.shutdown();
+        } catch (Exception e) {
+            log.warn("error shutting down asciidoctor instance: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    private void close() {
+        closed = true;
+        Lease lease;
+        while (null != (lease = idle.poll()))
+            destroy(lease);
+    }
+
+    /**
+     * @return string identifying registered extensions set (used as a part of conversion cache key)
+     */
+    public String extensionsFingerprint() {
+        return Stream.concat(
+                Stream.of(
+                    VideoMacroPreProcessor.class,
+                    ZendeskLinkMacroPreProcessor.class,
+                    VideoBlockMacroProcessor.class,
+                    ZendeskLinkInlineMacroProcessor.class,
+                    HtmlPostProcessor.class
+                ),
+                htmlPostProcessor().processors().stream().map(Object::getClass)
+            )
+            .map(Class::getName)
+            .collect(Collectors.joining(",", Objects.toString(getClass().getPackage().getImplementationVersion(), "") + ":", ""));
+    }
+
+    private HtmlPostProcessor htmlPostProcessor() {
+        return new HtmlPostProcessor(
+            new CodeBlockPostProcessor(),
+            new ImageBlockPostProcessor(),
+            new TableBlockPostProcessor(),
+            new AdmonitionBlockPostProcessor()
+        );
+    }
+
+    private Asciidoctor initializeAsciidoctor() {
+        log.trace("creating new asciidoctor instance");
+        Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+
+        // register preprocessors
+        asciidoctor.javaExtensionRegistry().preprocessor(VideoMacroPreProcessor.class);
+        asciidoctor.javaExtensionRegistry().preprocessor(ZendeskLinkMacroPreProcessor.class);
+
+        // register block processors
+        // ...
+
+        // register (block) macro processors
+        asciidoctor.javaExtensionRegistry().blockMacro(VideoBlockMacroProcessor.class);
+
+        // register inline macro processors
+        asciidoctor.javaExtensionRegistry().inlineMacro(new ZendeskLinkInlineMacroProcessor(zendeskFacade));
+
+        // register postprocessors (all HTML rewrites share single parsed document)
+        asciidoctor.javaExtensionRegistry().postprocessor(htmlPostProcessor());
+
+        return asciidoctor;
+    }
+
+    public class Lease implements AutoCloseable {
+
+        private final Asciidoctor asciidoctor;
+        private int               conversions = 0;
+        private boolean           broken      = false;
+        private boolean           released    = false;
+
+        private Lease(Asciidoctor asciidoctor) {
+            this.asciidoctor = asciidoctor;
+        }
+
+        public Asciidoctor asciidoctor() {
+            return asciidoctor;
+        }
+
+        /**
+         * mark leased instance as broken, so that it will not be returned to the pool
+         */
+        public void invalidate() {
+            this.broken = true;
+        }
+
+        @Override
+        public void close() {
+            if (!released)
+                release(this);
+        }
+    }
+
+}
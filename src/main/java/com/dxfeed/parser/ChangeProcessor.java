@@ -0,0 +1,194 @@
+package com.dxfeed.parser;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.zendesk.client.v2.model.hc.Article;
+import com.dxfeed.config.AppConfig;
+import com.dxfeed.model.FileChange;
+import com.dxfeed.model.ProcessingResult;
+import com.dxfeed.tools.FileTools;
+import com.dxfeed.zendesk.PublishManifest;
+import com.dxfeed.zendesk.ZendeskFacade;
+import com.dxfeed.zendesk.ZendeskHierarchy;
+import com.dxfeed.zendesk.ZendeskTools;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+
+import static com.dxfeed.model.ProcessingResult.ResultType.*;
+
+/**
+ * publishes a set of library file changes (git and watch modes)
+ *
+ * changed documents are published within hierarchy resolved from their directory up to library root, documents of
+ * directories with other changed files (images, includes) are republished as well; changed .properties files cause
+ * category / section reconciliation, renamed documents keep their articles and deleted ones get their articles removed;
+ * articles of sections with published documents (and categories / sections if properties were changed) are reordered
+ * the same as in directory mode
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ChangeProcessor {
+
+    private final @NonNull AppConfig appConfig;
+    private final @NonNull FileTools fileTools;
+    private final @NonNull ZendeskTools zendeskTools;
+    private final @NonNull ZendeskFacade zendeskFacade;
+    private final @NonNull PublishManifest publishManifest;
+    private final @NonNull PublishPipeline publishPipeline;
+    private final @NonNull LibraryIndex libraryIndex;
+    private final @NonNull DirectoryProcessor directoryProcessor;
+
+    /**
+     * @param libraryDirectory library directory change paths are relative to
+     * @param changes
+     * @param deletedTitle last known title of deleted document (used if its article is not recorded in manifest)
+     * @return merged processing result
+     */
+    public ProcessingResult process(Path libraryDirectory, List<FileChange> changes, Function<FileChange, Optional<String>> deletedTitle) {
+        Path directory = libraryDirectory.toAbsolutePath().normalize();
+        ProcessingResult result = new ProcessingResult();
+        Map<Path, Optional<ZendeskHierarchy>> hierarchies = new HashMap<>();
+        SortedSet<Path> reconciled = new TreeSet<>();
+        SortedMap<Path, Set<String>> published = new TreeMap<>();
+        List<FileChange> removed = new ArrayList<>();
+
+        for (FileChange change : changes) {
+            log.trace("{}", change);
+            Path path = directory.resolve(change.path()).normalize();
+            Path parent = path.getParent();
+            if (isIgnored(directory.relativize(path)))
+                continue;
+            if (change.type() == FileChange.Type.DELETED) {
+                if (isDocument(path))
+                    removed.add(change);
+                else if (isProperties(path))
+                    log.info("properties of {} were removed, its documents are not published anymore", parent);
+                else if (Files.isDirectory(parent))
+                    published.computeIfAbsent(parent, p -> new TreeSet<>()).addAll(libraryIndex.files(parent.toString()));
+                continue;
+            }
+            if (change.type() == FileChange.Type.RENAMED && isDocument(path))
+                // article is looked up with manifest entry, so renamed (or moved) document updates the same article
+                publishManifest.rename(directory.resolve(change.oldPath()).normalize().toString(), path.toString());
+            if (isProperties(path))
+                reconciled.add(parent);
+            else if (isDocument(path))
+                published.computeIfAbsent(parent, p -> new TreeSet<>()).add(path.toString());
+            else
+                published.computeIfAbsent(parent, p -> new TreeSet<>()).addAll(libraryIndex.files(parent.toString()));
+        }
+
+        for (Path directoryPath : reconciled) {
+            if (!hierarchy(hierarchies, directoryPath).isPresent())
+                result.add(RT_DIR_SKIPPED);
+        }
+        published.forEach((directoryPath, files) -> {
+            // the same as in directory mode, documents of directories without properties are not published
+            Optional<ZendeskHierarchy> hierarchy = Optional.of(directoryPath)
+                .filter(d -> Files.exists(d.resolve(appConfig.getConfigFileName())))
+                .flatMap(d -> hierarchy(hierarchies, d))
+                .filter(h -> null != h.section());
+            if (!hierarchy.isPresent()) {
+                log.warn("no section set for changed documents in {}, skipping", directoryPath);
+                result.add(RT_DIR_SKIPPED);
+            } else {
+                result.merge(publishPipeline.process(new ArrayList<>(files), hierarchy.get()));
+                directoryProcessor.reorderArticles(directoryPath.toString(), hierarchy.get().section());
+            }
+        });
+        if (!reconciled.isEmpty())
+            directoryProcessor.reorderHierarchy(fileTools.libraryRoot().orElse(directory).toString());
+        for (FileChange change : removed)
+            result.merge(remove(directory, change, deletedTitle, hierarchies));
+        return result;
+    }
+
+    private ProcessingResult remove(Path directory, FileChange change, Function<FileChange, Optional<String>> deletedTitle,
+        Map<Path, Optional<ZendeskHierarchy>> hierarchies)
+    {
+        Path path = directory.resolve(change.path()).normalize();
+        String inputFilename = path.toString();
+        Optional<Article> article = publishManifest.get(inputFilename)
+            .flatMap(e -> zendeskFacade.getArticle(e.getArticleId()));
+
+        // no manifest entry: look for article with document's last known title in its section
+        if (!article.isPresent()) {
+            Optional<String> title = deletedTitle.apply(change).filter(StringUtils::isNotBlank);
+            if (title.isPresent() && Files.isDirectory(path.getParent()))
+                article = hierarchy(hierarchies, path.getParent())
+                    .filter(h -> null != h.section())
+                    .flatMap(h -> zendeskFacade.getArticle(h.section(), title.get()))
+                    .filter(a -> !publishManifest.isRecorded(a.getId())); // the same article could be claimed by another document
+        }
+
+        if (!article.isPresent()) {
+            log.info("no article found for deleted document '{}'", change.path());
+            publishManifest.remove(inputFilename);
+            return new ProcessingResult();
+        }
+
+        log.info("removing article '{}' #({}) of deleted document '{}' from zendesk", article.get().getTitle(), article.get().getId(), change.path());
+        if (zendeskFacade.removeArticle(article.get())) {
+            publishManifest.remove(inputFilename);
+            publishManifest.removeArticle(article.get().getId());
+            return new ProcessingResult(RT_DEL_SUCCESS);
+        }
+        return new ProcessingResult(RT_DEL_FAILURE);
+    }
+
+    // hierarchy of a directory is resolved (and reconciled) from library root down to the directory
+    private Optional<ZendeskHierarchy> hierarchy(Map<Path, Optional<ZendeskHierarchy>> hierarchies, Path directoryPath) {
+        Optional<ZendeskHierarchy> known = hierarchies.get(directoryPath);
+        if (null != known)
+            return known;
+
+        Path root = fileTools.libraryRoot().orElse(directoryPath);
+        Optional<ZendeskHierarchy> resolved;
+        if (directoryPath.equals(root) || null == directoryPath.getParent() || !directoryPath.startsWith(root)) {
+            resolved = Optional.of(new ZendeskHierarchy());
+        } else {
+            resolved = hierarchy(hierarchies, directoryPath.getParent())
+                .map(ZendeskHierarchy::copy);
+        }
+        if (resolved.isPresent() && Files.exists(directoryPath.resolve(appConfig.getConfigFileName()))
+        && !zendeskTools.updateHierarchy(resolved.get(), libraryIndex.properties(directoryPath.toString()))) {
+            log.warn("could not load zendesk hierarchy data for {}", directoryPath);
+            resolved = Optional.empty();
+        }
+        hierarchies.put(directoryPath, resolved);
+        return resolved;
+    }
+
+    public boolean isProperties(Path path) {
+        return path.getFileName().toString().equals(appConfig.getConfigFileName());
+    }
+
+    public static boolean isDocument(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".adoc") || name.endsWith(".asciidoc");
+    }
+
+    /**
+     * @param path path relative to library directory
+     * @return true for files of hidden directories (.git), tool state files (.a2z-*), editor swap files and other
+     *         hidden files except directory properties
+     */
+    public boolean isIgnored(Path path) {
+        for (int i = 0; i < path.getNameCount() - 1; i++) {
+            if (path.getName(i).toString().startsWith("."))
+                return true;
+        }
+        String name = path.getFileName().toString();
+        return name.startsWith(".") && !isProperties(path) || name.endsWith("~");
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.dxfeed.parser;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.dxfeed.config.AppConfig;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * persistent on-disk cache of converted documents
+ *
+ * entries are stored as separate files named by content key (see {@link #key(String...)}), an index file
+ * keeps entry sizes in LRU order, so that lookup costs a single file read and cache size stays bounded; index is saved
+ * after each run, batch or job (and on shutdown), entries missing in index are removed when it is loaded
+ *
+ * configuration:
+ *
+ *   a2z.cache-dir          - cache directory (cache is disabled if not set)
+ *   asciidoc.cache.max-size - maximum total size of cached entries in bytes
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ConversionCache {
+
+    private static final String  INDEX_FILE = "index";
+    private static final String  ENTRY_EXT  = ".html";
+
+    // documents resolving links against zendesk server or depending on other files can't be cached by content
+    private static final Pattern NOT_CACHEABLE = Pattern.compile(
+        "(zlink:|link:(?!https?://|/)|include::|:data-uri:)", Pattern.CASE_INSENSITIVE);
+
+    @Value("${asciidoc.cache.max-size:268435456}")
+    private long maxSize;
+
+    private final @NonNull AppConfig appConfig;
+
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long    totalSize = 0;
+    private boolean modified  = false;
+    private Path    directory = null;
+
+    @PostConstruct
+    private void init() {
+        if (StringUtils.isBlank(appConfig.cacheDir()))
+            return;
+        try {
+            directory = Files.createDirectories(Paths.get(appConfig.cacheDir()));
+            loadIndex();
+            removeUnindexed();
+            log.info("conversion cache: {} entries ({} bytes) in '{}'", index.size(), totalSize, directory);
+        } catch (IOException e) {
+            log.warn("could not initialize conversion cache in '{}': {}", appConfig.cacheDir(), e.getMessage());
+            directory = null;
+        }
+    }
+
+    public boolean enabled() {
+        return null != directory;
+    }
+
+    public static boolean isCacheable(String contents) {
+        return StringUtils.isNotBlank(contents) && !NOT_CACHEABLE.matcher(contents).find();
+    }
+
+    /**
+     * calculate cache key for given parts (document contents, conversion settings etc.)
+     *
+     * @param parts
+     * @return hex-encoded SHA-256 digest
+     */
+    public static String key(String... parts) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        for (String part : parts) {
+            if (null != part)
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    public synchronized Optional<String> get(String key) {
+        if (!enabled() || !index.containsKey(key))
+            return Optional.empty();
+        try {
+            byte[] data = Files.readAllBytes(entry(key));
+            modified = true; // access order changed
+            return Optional.of(new String(data, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("could not read conversion cache entry {}: {}", key, e.getMessage());
+            remove(key);
+            return Optional.empty();
+        }
+    }
+
+    public synchronized void put(String key, String convertedDocument) {
+        if (!enabled() || null == convertedDocument)
+            return;
+        byte[] data = convertedDocument.getBytes(StandardCharsets.UTF_8);
+        if (data.length > maxSize)
+            return;
+        try {
+            Files.write(entry(key), data);
+            Long previous = index.put(key, (long) data.length);
+            totalSize += data.length - (null == previous ? 0 : previous);
+            modified = true;
+            evict();
+        } catch (IOException e) {
+            log.warn("could not write conversion cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+        while (totalSize > maxSize && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalSize -= eldest.getValue();
+            deleteEntry(eldest.getKey());
+        }
+    }
+
+    private void remove(String key) {
+        Long size = index.remove(key);
+        if (null != size) {
+            totalSize -= size;
+            modified = true;
+        }
+        deleteEntry(key);
+    }
+
+    private void deleteEntry(String key) {
+        try {
+            Files.deleteIfExists(entry(key));
+        } catch (IOException e) {
+            log.warn("could not remove conversion cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Path entry(String key) {
+        return directory.resolve(key + ENTRY_EXT);
+    }
+
+    // index format: one '<key> <size>' line per entry, least recently used first
+    private void loadIndex() throws IOException {
+        Path indexFile = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexFile))
+            return;
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while (null != (line = reader.readLine())) {
+                String [] parts = line.split(" ");
+                if (parts.length != 2)
+                    continue;
+                try {
+                    long size = Long.parseLong(parts[1]);
+                    index.put(parts[0], size);
+                    totalSize += size;
+                } catch (NumberFormatException e) {
+                    log.trace("skipping malformed conversion cache index line: '{}'", line);
+                }
+            }
+        }
+        evict();
+    }
+
+    // entries written after the last index save (e.g. before a hard kill) are not accounted in cache size
+    private void removeUnindexed() {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + ENTRY_EXT)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (!index.containsKey(name.substring(0, name.length() - ENTRY_EXT.length())))
+                    Files.deleteIfExists(entry);
+            }
+        } catch (IOException e) {
+            log.warn("could not remove unindexed conversion cache entries: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void save() {
+        if (!enabled() || !modified)
+            return;
+        Path indexFile = directory.resolve(INDEX_FILE);
+        Path tempFile  = directory.resolve(INDEX_FILE + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> entry : index.entrySet()) {
+                    writer.write(entry.getKey() + " " + entry.getValue());
+                    writer.newLine();
+                }
+            }
+            Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            log.warn("could not save conversion cache index: {}", e.getMessage());
+        }
+    }
+
+}
@@ -6,21 +6,23 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.zendesk.client.v2.model.hc.Article;
+import org.zendesk.client.v2.model.hc.Section;
 import com.dxfeed.config.AppConfig;
+import com.dxfeed.model.HierarchyEntry;
 import com.dxfeed.model.ProcessingResult;
-import com.dxfeed.tools.FileTools;
+import com.dxfeed.zendesk.ApiExecutor;
+import com.dxfeed.zendesk.PublishManifest;
+import com.dxfeed.zendesk.ReorderPlanner;
 import com.dxfeed.zendesk.ZendeskFacade;
 import com.dxfeed.zendesk.ZendeskHierarchy;
 import com.dxfeed.zendesk.ZendeskTools;
 
-import java.io.File;
 import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -31,105 +33,144 @@ import static com.dxfeed.model.ProcessingResult.ResultType.*;
 @RequiredArgsConstructor (onConstructor = @__(@Autowired))
 public class DirectoryProcessor {
 
-    private final @NonNull FileProcessor fileProcessor;
     private final @NonNull AppConfig appConfig;
     private final @NonNull ZendeskTools zendeskTools;
     private final @NonNull ZendeskFacade zendeskFacade;
-    private final @NonNull FileTools fileTools;
-
+    private final @NonNull PublishManifest publishManifest;
+    private final @NonNull PublishPipeline publishPipeline;
+    private final @NonNull LibraryIndex libraryIndex;
+    private final @NonNull TreeWalker treeWalker;
+    private final @NonNull ApiExecutor apiExecutor;
+    private final @NonNull ReorderPlanner reorderPlanner;
+
+    /**
+     * process given directory and all its subdirectories (see {@link TreeWalker}), sections and categories are
+     * reordered once the whole tree is processed
+     *
+     * @param directoryPath
+     * @param hierarchy hierarchy of parent directory
+     * @return merged processing result
+     */
     public ProcessingResult process(String directoryPath, ZendeskHierarchy hierarchy) {
+        ProcessingResult result = treeWalker.walk(directoryPath, hierarchy, this::processDirectory);
+        reorderHierarchy(directoryPath);
+        return result;
+    }
+
+    /**
+     * reorder articles of given section after documents of given directory (see {@link ReorderPlanner})
+     *
+     * @param directoryPath
+     * @param section
+     * @return number of articles moved
+     */
+    public int reorderArticles(String directoryPath, Section section) {
+        Map<String, Long> positions = new HashMap<>();
+        for (String inputFilename : libraryIndex.files(directoryPath))
+            libraryIndex.header(inputFilename).ifPresent(h -> positions.putIfAbsent(h.title(), (long) h.position()));
+        return reorderPlanner.articles(section, positions);
+    }
+
+    /**
+     * reorder categories and sections set in given directory tree after their directory properties, the same as
+     * other changes of existing categories and sections it is done with zendesk.forced-update only
+     *
+     * @param directoryPath
+     * @return number of categories and sections moved
+     */
+    public int reorderHierarchy(String directoryPath) {
+        if (!zendeskTools.forcedUpdate())
+            return 0;
+        Map<String, Long> categories = new HashMap<>();
+        Map<String, Map<String, Long>> sections = new HashMap<>();
+        collectPositions(directoryPath, null, categories, sections);
+        int moved = reorderPlanner.categories(categories);
+        for (Map.Entry<String, Map<String, Long>> entry : sections.entrySet()) {
+            moved += zendeskFacade.getCategoryByName(entry.getKey())
+                .map(c -> reorderPlanner.sections(c, entry.getValue()))
+                .orElse(0);
+        }
+        return moved;
+    }
+
+    // positions of categories and sections by (lower case) name, the first directory setting a name wins
+    private void collectPositions(String directoryPath, String category, Map<String, Long> categories,
+        Map<String, Map<String, Long>> sections)
+    {
+        Properties properties = Files.exists(Paths.get(directoryPath, appConfig.getConfigFileName()))
+            ? libraryIndex.properties(directoryPath) : new Properties();
+        Optional<HierarchyEntry> categoryEntry = zendeskTools.category(properties);
+        Optional<HierarchyEntry> sectionEntry  = zendeskTools.section(properties);
+        if (categoryEntry.isPresent()) {
+            category = ReorderPlanner.key(categoryEntry.get().name());
+            categories.putIfAbsent(category, categoryEntry.get().position());
+        }
+        if (sectionEntry.isPresent() && null != category)
+            sections.computeIfAbsent(category, c -> new HashMap<>())
+                .putIfAbsent(ReorderPlanner.key(sectionEntry.get().name()), sectionEntry.get().position());
+        for (String subdirectory : libraryIndex.directories(directoryPath))
+            collectPositions(subdirectory, category, categories, sections);
+    }
+
+    // files of a directory are processed (and stale articles are removed) before its subdirectories
+    private ProcessingResult processDirectory(String directoryPath, ZendeskHierarchy hierarchy) {
         log.info("> start directory processing: '{}'", directoryPath);
         ProcessingResult result = new ProcessingResult();
 
-        if (!zendeskTools.updateHierarchy(hierarchy, fileTools.readProperties(directoryPath))) {
+        if (!zendeskTools.updateHierarchy(hierarchy, libraryIndex.properties(directoryPath))) {
             log.warn("could not load zendesk hierarchy data for {}", directoryPath);
             result.add(RT_DIR_SKIPPED);
         } else {
             result.merge(processAllFiles(directoryPath, hierarchy));
             if (appConfig.clean())
                 result.merge(removeStaleArticles(directoryPath, hierarchy));
+            if (null != hierarchy.section())
+                reorderArticles(directoryPath, hierarchy.section());
         }
-        result.merge(processAllDirectories(directoryPath, hierarchy));
 
         return result;
     }
 
     private ProcessingResult removeStaleArticles(String directoryPath, ZendeskHierarchy hierarchy) {
-        try {
 
-            if (null == hierarchy.section() || null == hierarchy.category())
-                return new ProcessingResult(RT_NONE);
+        if (null == hierarchy.section() || null == hierarchy.category())
+            return new ProcessingResult(RT_NONE);
 
-            ProcessingResult result = new ProcessingResult();
+        ProcessingResult result = new ProcessingResult();
 
-            Map<String, Article> zendeskArticles = zendeskFacade.getArticles(hierarchy.section())
-                .stream().collect(Collectors.toMap(Article::getTitle, Function.identity()));
+        Map<String, Article> zendeskArticles = zendeskFacade.getArticles(hierarchy.section())
+            .stream().collect(Collectors.toMap(Article::getTitle, Function.identity()));
 
-            Set<String> repositoryArticles = Files.list(Paths.get(directoryPath))
-                .map(Path::toFile).filter(File::isFile)
-                .filter(f -> f.getName().endsWith(".adoc") || f.getName().endsWith(".asciidoc"))
-                .map(f -> f.getAbsolutePath())
-                .map(f -> fileProcessor.read(f, hierarchy))
-                .filter(od -> od.isPresent())
-                .map(od -> od.get())
-                .map(d -> d.title())
-                .collect(Collectors.toSet())
-            ;
+        Set<String> repositoryArticles = libraryIndex.files(directoryPath).stream()
+            .map(f -> libraryIndex.header(f))
+            .filter(oh -> oh.isPresent())
+            .map(oh -> oh.get())
+            .map(h -> h.title())
+            .collect(Collectors.toSet())
+        ;
 
-            Set<String> titlesToRemove = new HashSet(zendeskArticles.keySet());
-            titlesToRemove.removeAll(repositoryArticles);
+        Set<String> titlesToRemove = new HashSet(zendeskArticles.keySet());
+        titlesToRemove.removeAll(repositoryArticles);
 
-            titlesToRemove.stream().forEach(t -> {
+        titlesToRemove.stream()
+            .map(t -> CompletableFuture.runAsync(() -> {
                 Article article = zendeskArticles.get(t);
                 log.info("removing stale article '{}' #({}) from zendesk", article.getTitle(), article.getId());
-                result.add(zendeskFacade.removeArticle(article) ? RT_DEL_SUCCESS : RT_DEL_FAILURE);
-            });
-
-            return result;
-        } catch (IOException e) {
-            log.error("error processing files for removed articles in {}: {}", directoryPath, e.getMessage());
-            if (log.isTraceEnabled())
-                e.printStackTrace();
-            return new ProcessingResult(RT_DEL_FAILURE);
-        }
-    }
+                if (zendeskFacade.removeArticle(article)) {
+                    publishManifest.removeArticle(article.getId());
+                    result.add(RT_DEL_SUCCESS);
+                } else {
+                    result.add(RT_DEL_FAILURE);
+                }
+            }, apiExecutor))
+            .collect(Collectors.toList())
+            .forEach(CompletableFuture::join);
 
-    private ProcessingResult processAllFiles(String directoryPath, ZendeskHierarchy hierarchy) {
-        try {
-            ProcessingResult result = new ProcessingResult();
-            Files.list(Paths.get(directoryPath))
-                .map(Path::toFile)
-                .filter(File::isFile)
-                .filter(f -> f.getName().endsWith(".adoc") || f.getName().endsWith(".asciidoc"))
-                .map(f -> f.getAbsolutePath())
-                .parallel()
-                .forEach(f -> result.merge(fileProcessor.process(f, hierarchy)));
-            return result;
-        } catch (IOException e) {
-            log.error("error processing files in {}: {}", directoryPath, e.getMessage());
-            if (log.isTraceEnabled())
-                e.printStackTrace();
-            return new ProcessingResult(RT_PUB_FAILURE);
-        }
+        return result;
     }
 
-    private ProcessingResult processAllDirectories(String directoryPath, ZendeskHierarchy hierarchy) {
-        try {
-            ProcessingResult result = new ProcessingResult();
-            Files.list(Paths.get(directoryPath))
-                .map(Path::toFile)
-                .filter(f -> f.isDirectory())
-                .map(File::toPath)
-                .map(Path::toString)
-                .parallel()
-                .forEach(d -> result.merge(process(d, hierarchy)));
-            return result;
-        } catch (IOException e) {
-            log.error("error processing directory {}: {}", directoryPath, e.getMessage());
-            if (log.isTraceEnabled())
-                e.printStackTrace();
-            return new ProcessingResult(RT_PUB_FAILURE);
-        }
+    private ProcessingResult processAllFiles(String directoryPath, ZendeskHierarchy hierarchy) {
+        return publishPipeline.process(libraryIndex.files(directoryPath), hierarchy);
     }
 
 }
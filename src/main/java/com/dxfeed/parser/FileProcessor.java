@@ -4,10 +4,9 @@ import ch.qos.logback.core.encoder.EchoEncoder;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.StringUtils;
-import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.AttributesBuilder;
 import org.asciidoctor.OptionsBuilder;
 import org.asciidoctor.SafeMode;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,9 +15,10 @@ import org.springframework.stereotype.Component;
 import org.zendesk.client.v2.model.hc.Article;
 import com.dxfeed.config.AppConfig;
 import com.dxfeed.model.Document;
+import com.dxfeed.model.DocumentHeader;
 import com.dxfeed.model.ProcessingResult;
-import com.dxfeed.processor.*;
-import com.dxfeed.tools.FileTools;
+import com.dxfeed.zendesk.ImageAttachments;
+import com.dxfeed.zendesk.PublishManifest;
 import com.dxfeed.zendesk.ZendeskFacade;
 import com.dxfeed.zendesk.ZendeskHierarchy;
 import com.dxfeed.zendesk.ZendeskTools;
@@ -28,10 +28,13 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import static com.dxfeed.model.ProcessingResult.ResultType.*;
 
@@ -40,31 +43,18 @@ import static com.dxfeed.model.ProcessingResult.ResultType.*;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class FileProcessor {
 
-    @Value("${asciidoc.template.title}")
-    private String titleTemplate;
-
-    @Value("${asciidoc.template.title-old}")
-    private String titleOldTemplate;
-
-    @Value("${asciidoc.template.position}")
-    private String positionTemplate;
-
-    @Value("${asciidoc.template.draft}")
-    private String draftTemplate;
-
-    @Value("${asciidoc.template.promoted}")
-    private String promotedTemplate;
-
-    @Value("${asciidoc.template.tags}")
-    private String tagsTemplate;
-
     @Value("${zendesk.publish}")
     private boolean performPublication;
 
     private final @NonNull AppConfig appConfig;
     private final @NonNull ZendeskTools zendeskTools;
     private final @NonNull ZendeskFacade zendeskFacade;
-    private final @NonNull FileTools fileTools;
+    private final @NonNull AsciidoctorPool asciidoctorPool;
+    private final @NonNull ConversionCache conversionCache;
+    private final @NonNull PublishManifest publishManifest;
+    private final @NonNull HeaderParser headerParser;
+    private final @NonNull LibraryIndex libraryIndex;
+    private final @NonNull ImageAttachments imageAttachments;
 
     @SuppressWarnings("unchecked")
     private void disableAccessWarnings() {
@@ -90,31 +80,6 @@ public class FileProcessor {
         disableAccessWarnings();
     }
 
-    private Asciidoctor initializeAsciidoctor() {
-        Asciidoctor asciidoctor = Asciidoctor.Factory.create();
-
-        // register preprocessors
-        asciidoctor.javaExtensionRegistry().preprocessor(VideoMacroPreProcessor.class);
-        asciidoctor.javaExtensionRegistry().preprocessor(ZendeskLinkMacroPreProcessor.class);
-
-        // register block processors
-        // ...
-
-        // register (block) macro processors
-        asciidoctor.javaExtensionRegistry().blockMacro(VideoBlockMacroProcessor.class);
-
-        // register inline macro processors
-        asciidoctor.javaExtensionRegistry().inlineMacro(new ZendeskLinkInlineMacroProcessor(zendeskFacade));
-
-        // register postprocessors
-        asciidoctor.javaExtensionRegistry().postprocessor(CodeBlockPostProcessor.class);
-        asciidoctor.javaExtensionRegistry().postprocessor(ImageBlockPostProcessor.class);
-        asciidoctor.javaExtensionRegistry().postprocessor(TableBlockPostProcessor.class);
-        asciidoctor.javaExtensionRegistry().postprocessor(AdmonitionBlockPostProcessor.class);
-
-        return asciidoctor;
-    }
-
     public ProcessingResult process(String inputFilename, ZendeskHierarchy hierarchy) {
         log.info(">> start file processing: '{}'", inputFilename);
         ProcessingResult result = new ProcessingResult();
@@ -127,56 +92,47 @@ public class FileProcessor {
             } catch (Exception e) {
                 log.warn("could not get parent directories for input file '{}'", inputFilename);
             }
-            if (!zendeskTools.updateHierarchy(hierarchy, fileTools.readProperties(categoryDir))) {
+            if (!zendeskTools.updateHierarchy(hierarchy, libraryIndex.properties(categoryDir))) {
                 log.warn("could not load category data");
                 result.add(RT_DIR_SKIPPED);
             }
-            else if (!zendeskTools.updateHierarchy(hierarchy, fileTools.readProperties(sectionDir))) {
+            else if (!zendeskTools.updateHierarchy(hierarchy, libraryIndex.properties(sectionDir))) {
                 log.warn("could not load section data");
                 result.add(RT_DIR_SKIPPED);
             }
         }
         if (StringUtils.isNotBlank(inputFilename) && result.get(RT_DIR_SKIPPED).get() == 0) {
-            read(inputFilename, hierarchy).ifPresent(d -> convert(d).ifPresent(cd -> result.merge(publishOrPrint(d, cd, hierarchy))));
+            read(inputFilename, hierarchy).ifPresent(d -> render(d).ifPresent(cd -> result.merge(publishOrPrint(d, cd, hierarchy))));
         }
         return result;
     }
 
     public Optional<Document> read(String inputFilename, ZendeskHierarchy hierarchy) {
-        List<String> lines;
+        String contents;
         try {
-            lines = FileUtils.readLines(new File(inputFilename), "utf-8");
+            contents = new String(Files.readAllBytes(Paths.get(inputFilename)), StandardCharsets.UTF_8);
         } catch (IOException e) {
             log.error("error reading file: {}", e.getMessage());
             return Optional.empty();
         }
 
         try {
+            DocumentHeader header = headerParser.parse(contents);
+            libraryIndex.update(inputFilename, header);
             Document document =
                 new Document()
                     .inputFilename(inputFilename)
                     .category(hierarchy.category().getName())
                     .section(hierarchy.section().getName())
-                    .title(getDocumentParam(lines, titleTemplate, null))
-                    .oldTitle(getDocumentParam(lines, titleOldTemplate, null))
-                    .position(getDocumentIntParam(lines, positionTemplate, Integer.MAX_VALUE))
-                    .draft(getDocumentBooleanParam(lines, draftTemplate))
-                    .promoted(getDocumentBooleanParam(lines, promotedTemplate))
-                    .contents(lines.stream().collect(Collectors.joining("\n")))
-                    .tags(
-                        Arrays.asList(getDocumentParam(lines, tagsTemplate, null).split(","))
-                            .stream()
-                            .filter(s -> StringUtils.isNotBlank(s))
-                            .map(s -> s.trim())
-                            .collect(Collectors.toList())
-                    );
+                    .title(header.title())
+                    .oldTitle(header.oldTitle())
+                    .position(header.position())
+                    .draft(header.draft())
+                    .promoted(header.promoted())
+                    .contents(contents)
+                    .tags(header.tags());
 
-            if (!FilenameUtils.getBaseName(inputFilename)
-                    .replaceAll(" ", "_")
-                    .equalsIgnoreCase(document.title().replaceAll(" ", "_")))
-                log.warn("document title does not match with file name: '{}' - '{}'",
-                    document.title(),
-                    FilenameUtils.getName(inputFilename));
+            checkTitle(inputFilename, document.title());
 
             return Optional.of(document);
 
@@ -188,29 +144,82 @@ public class FileProcessor {
         }
     }
 
+    private void checkTitle(String inputFilename, String title) {
+        if (!FilenameUtils.getBaseName(inputFilename)
+                .replaceAll(" ", "_")
+                .equalsIgnoreCase(title.replaceAll(" ", "_")))
+            log.warn("document title does not match with file name: '{}' - '{}'",
+                title,
+                FilenameUtils.getName(inputFilename));
+    }
+
+    /**
+     * get converted document from conversion cache or convert it (and cache conversion result)
+     *
+     * @param document
+     * @return converted document or empty if conversion failed
+     */
+    public Optional<String> render(Document document) {
+        if (!conversionCache.enabled() || !ConversionCache.isCacheable(document.contents()))
+            return convert(document);
+        List<String> parts = new ArrayList<>();
+        parts.add(document.contents());
+        parts.add(asciidoctorPool.extensionsFingerprint());
+        parts.addAll(headerParser.templates());
+        String key = ConversionCache.key(parts.toArray(new String[0]));
+        Optional<String> cached = conversionCache.get(key);
+        if (cached.isPresent()) {
+            log.trace("using cached conversion result for '{}'", document.inputFilename());
+            return cached;
+        }
+        Optional<String> converted = convert(document);
+        converted.ifPresent(cd -> conversionCache.put(key, cd));
+        return converted;
+    }
+
     public Optional<String> convert(Document document) {
-        Asciidoctor asciidoctor = initializeAsciidoctor(/*document*/);
-        try {
-            String result = asciidoctor
-            .convertFile(
-                new File(document.inputFilename()),
-                OptionsBuilder.options()
-                    .backend("xhtml5")
-                    .toFile(false)
-                    .safe(SafeMode.UNSAFE)
-            );
-            return Optional.ofNullable(result);
+        try (AsciidoctorPool.Lease lease = asciidoctorPool.borrow()) {
+            try {
+                // convert already loaded contents, with the same base directory and attributes as for file conversion
+                File file = new File(document.inputFilename()).getAbsoluteFile();
+                String result = lease.asciidoctor()
+                .convert(
+                    document.contents(),
+                    OptionsBuilder.options()
+                        .backend("xhtml5")
+                        .toFile(false)
+                        .safe(SafeMode.UNSAFE)
+                        .baseDir(file.getParentFile())
+                        .attributes(AttributesBuilder.attributes()
+                            .attribute("docfile", file.getPath())
+                            .attribute("docdir", file.getParent())
+                            .attribute("docname", FilenameUtils.getBaseName(file.getName()))
+                            .attribute("docfilesuffix", "." + FilenameUtils.getExtension(file.getName())))
+                );
+                return Optional.ofNullable(result);
+            } catch (Exception e) {
+                lease.invalidate();
+                throw e;
+            }
         } catch (Exception e) {
             log.warn("error converting file: {}", e.getMessage());
             return Optional.empty();
-        } finally {
-            asciidoctor.shutdown();
         }
     }
 
-    public ProcessingResult publishOrPrint(Document document, String convertedDocument, ZendeskHierarchy hierarchy) {
+    public ProcessingResult publishOrPrint(Document document, String renderedDocument, ZendeskHierarchy hierarchy) {
 
         if (performPublication) { // publish document
+            // local images are named after their contents, so that fingerprint changes with them
+            String convertedDocument = imageAttachments.localImages(document, renderedDocument);
+
+            // skip articles which were already published with the same contents
+            String fingerprint = PublishManifest.fingerprint(document, convertedDocument, appConfig.group());
+            if (!appConfig.force() && publishManifest.isPublished(document.inputFilename(), hierarchy.section().getId(), fingerprint)) {
+                log.info("article '{}' not changed since last publication, skipping", document.title());
+                return new ProcessingResult(RT_PUB_UNCHANGED);
+            }
+
             // for renaming support we need to query existing articles either with document's 'title' or 'oldTitle'
             String requestTitle = StringUtils.isBlank(document.oldTitle()) ? document.title() : document.oldTitle();
 
@@ -221,31 +230,54 @@ public class FileProcessor {
                 requestedArticle = zendeskFacade.getArticle(hierarchy.section(), document.title());
             }
 
+            // article published from the same file before (title changed without OLD-TITLE tag, or file was moved)
+            if (!requestedArticle.isPresent()) {
+                requestedArticle = publishManifest.get(document.inputFilename())
+                    .flatMap(e -> zendeskFacade.getArticle(e.getArticleId()));
+            }
+
+            // skip articles carrying the same fingerprint (works without publish manifest, e.g. on fresh CI checkouts)
+            if (!appConfig.force() && requestedArticle.isPresent()
+            && Objects.equals(requestedArticle.get().getSectionId(), hierarchy.section().getId())
+            && zendeskTools.isPublished(requestedArticle.get(), fingerprint)) {
+                log.info("article '{}' not changed since last publication, skipping", document.title());
+                publishManifest.put(document.inputFilename(), requestedArticle.get().getId(), hierarchy.section().getId(), fingerprint);
+                return new ProcessingResult(RT_PUB_UNCHANGED);
+            }
+
             Optional<Article> newArticle;
             if (requestedArticle.isPresent()) {
                 log.trace("updating existing article '{}'", requestedArticle.get().getTitle());
-                newArticle = zendeskTools.updateArticle(requestedArticle.get(), document, convertedDocument);
+                Article existing = requestedArticle.get();
+                newArticle = imageAttachments.attach(existing, convertedDocument)
+                    .flatMap(contents -> zendeskTools.updateArticle(existing, document, contents, fingerprint));
+                newArticle.ifPresent(a -> a.setSectionId(hierarchy.section().getId()));
             } else {
                 log.trace("creating new article '{}'", requestTitle);
-                newArticle = zendeskTools.createArticle(document, hierarchy.section(), convertedDocument, appConfig.group());
+                newArticle = zendeskTools.createArticle(document, hierarchy.section(), convertedDocument, appConfig.group(),
+                    imageAttachments.createdFingerprint(convertedDocument, fingerprint));
             }
 
             if (!newArticle.isPresent()) {
                 log.warn("could not create or update article '{}'", requestTitle);
+                publishManifest.remove(document.inputFilename());
                 return new ProcessingResult(RT_PUB_FAILURE);
             } else {
                 Optional<Article> processedArticle;
                 if (requestedArticle.isPresent()) {
                     log.trace("updating existing article in zendesk '{}'", newArticle.get().getTitle());
-                    processedArticle = zendeskFacade.updateArticle(newArticle.get());
+                    processedArticle = zendeskFacade.updateArticle(requestedArticle.get(), newArticle.get());
                 } else {
                     log.trace("creating new article in zendesk '{}'", newArticle.get().getTitle());
-                    processedArticle = zendeskFacade.addArticle(newArticle.get());
+                    processedArticle = zendeskFacade.addArticle(newArticle.get())
+                        .flatMap(a -> imageAttachments.attachCreated(a, document, convertedDocument, fingerprint));
                 }
                 if (!processedArticle.isPresent()) {
                     log.warn("could not create or update article '{}' on zendesk server", newArticle.get().getTitle());
+                    publishManifest.remove(document.inputFilename());
                     return new ProcessingResult(RT_PUB_FAILURE);
                 }
+                publishManifest.put(document.inputFilename(), processedArticle.get().getId(), hierarchy.section().getId(), fingerprint);
             }
             if (document.draft())
                 return new ProcessingResult(/*RT_PUB_SUCCESS*/).add(RT_PUB_DRAFT);
@@ -254,58 +286,8 @@ public class FileProcessor {
         } else { // just print document to stdout
             System.out.println("-------------------------------------------------------------------------------------");
             document.print("    ");
-            System.out.println(convertedDocument);
+            System.out.println(renderedDocument);
             return new ProcessingResult(RT_FILE_PRINTED);
         }
     }
-
-    private String getDocumentParam(List<String> lines, String key, String override) {
-        return (StringUtils.isNotBlank(override))
-            ? override
-            : lines
-            .stream()
-            .filter(s -> s.contains(key))
-            .findFirst()
-            .orElse("")
-            .replace(key, "")
-            .replace("/", "")
-            .trim()
-        ;
-    }
-    private boolean getDocumentBooleanParam(List<String> lines, String key) {
-        Optional<String> argument =
-            lines.stream()
-                .filter(s -> s.startsWith("//") && s.contains(key))
-                .findFirst();
-        if (!argument.isPresent()) {
-            return false;
-        } else {
-            String value = argument.get()
-                .replaceAll("/", "")
-                .replace(key, "")
-                .trim();
-            log.trace("boolean value for {} is '{}'", key, value);
-            return (StringUtils.isBlank(value)) ? true : Boolean.parseBoolean(value);
-        }
-    }
-    private int getDocumentIntParam(List<String> lines, String key, int defaultValue) {
-        Optional<String> argument =
-                lines.stream()
-                        .filter(s -> s.startsWith("//") && s.contains(key))
-                        .findFirst();
-        if (!argument.isPresent()) {
-            return defaultValue;
-        } else {
-            String value = argument.get()
-                    .replaceAll("/", "")
-                    .replace(key, "")
-                    .trim();
-            log.trace("integer value for {} is '{}'", key, value);
-            try {
-                return Integer.valueOf(value);
-            } catch (Exception e) {
-                return defaultValue;
-            }
-        }
-    }
 }
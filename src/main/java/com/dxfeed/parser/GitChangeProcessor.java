@@ -0,0 +1,109 @@
+package com.dxfeed.parser;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import com.dxfeed.config.AppConfig;
+import com.dxfeed.model.DocumentHeader;
+import com.dxfeed.model.FileChange;
+import com.dxfeed.model.ProcessingResult;
+import com.dxfeed.tools.FileTools;
+import com.dxfeed.tools.GitTools;
+import com.dxfeed.zendesk.ZendeskHierarchy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static com.dxfeed.model.ProcessingResult.ResultType.*;
+
+/**
+ * git mode: publishes only files changed since last published commit of library repository (see {@link ChangeProcessor});
+ * last published commit is stored in library root (.a2z-commit) only when all changes were published successfully
+ *
+ * whole library is processed if last published commit is not known or is not available (e.g. in shallow clones)
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class GitChangeProcessor {
+
+    private static final String STATE_FILE_NAME = ".a2z-commit";
+
+    private final @NonNull AppConfig appConfig;
+    private final @NonNull GitTools gitTools;
+    private final @NonNull FileTools fileTools;
+    private final @NonNull HeaderParser headerParser;
+    private final @NonNull ChangeProcessor changeProcessor;
+    private final @NonNull DirectoryProcessor directoryProcessor;
+
+    public ProcessingResult process(String directoryPath) {
+        File directory = new File(directoryPath).getAbsoluteFile();
+        Optional<String> head = gitTools.head(directory);
+        if (!head.isPresent()) {
+            log.warn("'{}' is not within git repository, processing whole directory", directoryPath);
+            return directoryProcessor.process(directoryPath, new ZendeskHierarchy());
+        }
+
+        Optional<String> base = StringUtils.isNotBlank(appConfig.since()) ? Optional.of(appConfig.since()) : readState();
+        Optional<List<FileChange>> changes = Optional.empty();
+        if (!base.isPresent())
+            log.info("last published commit is not known, processing whole directory");
+        else if (!gitTools.exists(directory, base.get()))
+            log.warn("commit '{}' is not available (shallow clone?), processing whole directory", base.get());
+        else if (!(changes = gitTools.diff(directory, base.get(), head.get())).isPresent())
+            log.warn("could not get changes since commit '{}', processing whole directory", base.get());
+
+        ProcessingResult result = changes
+            .map(c -> {
+                log.info("> {} changes since commit '{}'", c.size(), base.get());
+                return changeProcessor.process(directory.toPath(), c, d -> gitTools.show(directory, base.get(), d.path())
+                    .map(headerParser::parse)
+                    .map(DocumentHeader::title));
+            })
+            .orElseGet(() -> directoryProcessor.process(directoryPath, new ZendeskHierarchy()));
+
+        if (0 == result.get(RT_PUB_FAILURE).get() && 0 == result.get(RT_DEL_FAILURE).get())
+            writeState(head.get());
+        else
+            log.warn("not all changes were published, commit '{}' is not recorded as published", head.get());
+        return result;
+    }
+
+    private Optional<Path> stateFile() {
+        return fileTools.libraryRoot().map(root -> root.resolve(STATE_FILE_NAME));
+    }
+
+    private Optional<String> readState() {
+        return stateFile().filter(Files::exists).flatMap(file -> {
+            try {
+                return Optional.of(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim()).filter(StringUtils::isNotBlank);
+            } catch (IOException e) {
+                log.warn("could not read last published commit from '{}': {}", file, e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    private void writeState(String commit) {
+        stateFile().ifPresent(file -> {
+            try {
+                Files.write(file, (commit + "\n").getBytes(StandardCharsets.UTF_8));
+                log.info("commit '{}' recorded as published", commit);
+            } catch (IOException e) {
+                log.warn("could not write last published commit to '{}': {}", file, e.getMessage());
+                if (log.isTraceEnabled())
+                    e.printStackTrace();
+            }
+        });
+    }
+
+}
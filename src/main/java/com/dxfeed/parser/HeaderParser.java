@@ -0,0 +1,143 @@
+package com.dxfeed.parser;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.dxfeed.model.DocumentHeader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * single-pass parser of document header
+ *
+ * header is a leading block of blank lines, comments (line and block ones), attribute entries and document title;
+ * all the asciidoc.template.* keys are taken from header lines only, parsing stops at first non-header line
+ * (or as soon as all the keys are found)
+ *
+ */
+@Slf4j
+@Component
+public class HeaderParser {
+
+    private static final String BLOCK_COMMENT = "////";
+
+    @Value("${asciidoc.template.title}")
+    private String titleTemplate;
+
+    @Value("${asciidoc.template.title-old}")
+    private String titleOldTemplate;
+
+    @Value("${asciidoc.template.position}")
+    private String positionTemplate;
+
+    @Value("${asciidoc.template.draft}")
+    private String draftTemplate;
+
+    @Value("${asciidoc.template.promoted}")
+    private String promotedTemplate;
+
+    @Value("${asciidoc.template.tags}")
+    private String tagsTemplate;
+
+    /**
+     * @return header keys (used as a part of conversion cache key)
+     */
+    public List<String> templates() {
+        return Arrays.asList(titleTemplate, titleOldTemplate, positionTemplate, draftTemplate, promotedTemplate, tagsTemplate);
+    }
+
+    public DocumentHeader parse(String contents) {
+        try {
+            return parse(new StringReader(contents));
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // not thrown by string reader
+        }
+    }
+
+    /**
+     * parse header from given reader, reading no further than header end
+     *
+     * @param source
+     * @return document header
+     */
+    public DocumentHeader parse(Reader source) throws IOException {
+        DocumentHeader header = new DocumentHeader();
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        boolean title = false, oldTitle = false, position = false, draft = false, promoted = false, tags = false;
+        boolean inBlockComment = false;
+        String line;
+        while (null != (line = reader.readLine())) {
+            if (line.trim().equals(BLOCK_COMMENT)) {
+                inBlockComment = !inBlockComment;
+                continue;
+            }
+            if (!inBlockComment && !isHeaderLine(line))
+                break;
+
+            boolean comment = line.startsWith("//");
+            if (!title && line.contains(titleTemplate)) {
+                header.title(value(line, titleTemplate));
+                title = true;
+            }
+            if (!oldTitle && line.contains(titleOldTemplate)) {
+                header.oldTitle(value(line, titleOldTemplate));
+                oldTitle = true;
+            }
+            if (!tags && line.contains(tagsTemplate)) {
+                header.tags(
+                    Arrays.stream(value(line, tagsTemplate).split(","))
+                        .filter(StringUtils::isNotBlank)
+                        .map(String::trim)
+                        .collect(Collectors.toList())
+                );
+                tags = true;
+            }
+            if (!position && comment && line.contains(positionTemplate)) {
+                String value = value(line, positionTemplate);
+                log.trace("integer value for {} is '{}'", positionTemplate, value);
+                try {
+                    header.position(Integer.valueOf(value));
+                } catch (NumberFormatException ignored) {
+                }
+                position = true;
+            }
+            if (!draft && comment && line.contains(draftTemplate)) {
+                header.draft(booleanValue(line, draftTemplate));
+                draft = true;
+            }
+            if (!promoted && comment && line.contains(promotedTemplate)) {
+                header.promoted(booleanValue(line, promotedTemplate));
+                promoted = true;
+            }
+            if (title && oldTitle && position && draft && promoted && tags)
+                break;
+        }
+        return header;
+    }
+
+    private static boolean isHeaderLine(String line) {
+        return StringUtils.isBlank(line)
+            || line.startsWith("//")
+            || line.startsWith(":")
+            || line.startsWith("= ");
+    }
+
+    // value is the rest of the line with key and comment slashes removed
+    private static String value(String line, String key) {
+        return line.replace(key, "").replace("/", "").trim();
+    }
+
+    private static boolean booleanValue(String line, String key) {
+        String value = value(line, key);
+        log.trace("boolean value for {} is '{}'", key, value);
+        return StringUtils.isBlank(value) || Boolean.parseBoolean(value);
+    }
+
+}
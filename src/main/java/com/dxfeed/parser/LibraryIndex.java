@@ -0,0 +1,363 @@
+package com.dxfeed.parser;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import com.dxfeed.config.AppConfig;
+import com.dxfeed.model.DocumentHeader;
+import com.dxfeed.tools.FileTools;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * metadata index of library tree: document headers, directory contents and directory properties
+ *
+ * index is built with a single walk of input directory and persisted in library root directory between runs;
+ * file entries are validated by modification time and size, so that unchanged files are never opened
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class LibraryIndex {
+
+    private static final String DEFAULT_FILE_NAME = ".a2z-library.json";
+
+    private final @NonNull AppConfig    appConfig;
+    private final @NonNull FileTools    fileTools;
+    private final @NonNull HeaderParser headerParser;
+
+    private final Map<String, FileEntry>       files       = new ConcurrentHashMap<>();
+    private final Map<String, PropertiesEntry> properties  = new ConcurrentHashMap<>();
+    private final Map<String, DirectoryEntry>  directories = new ConcurrentHashMap<>();
+    private final ObjectMapper                 mapper      = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private Path             file     = null;
+    private volatile boolean modified = false;
+
+    @Data
+    @NoArgsConstructor
+    public static class FileEntry {
+        private long         modified;
+        private long         size;
+        private String       title;
+        private String       oldTitle;
+        private int          position;
+        private boolean      draft;
+        private boolean      promoted;
+        private List<String> tags;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class PropertiesEntry {
+        private long                modified;
+        private long                size;
+        private Map<String, String> values;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class State {
+        private String                       templates;
+        private Map<String, FileEntry>       files      = new TreeMap<>();
+        private Map<String, PropertiesEntry> properties = new TreeMap<>();
+    }
+
+    // directory contents are taken from filesystem walk and not persisted
+    private static class DirectoryEntry {
+        private final List<String> files       = new ArrayList<>();
+        private final List<String> directories = new ArrayList<>();
+    }
+
+    @PostConstruct
+    private void init() {
+        file = fileTools.libraryRoot().map(root -> root.resolve(DEFAULT_FILE_NAME)).orElse(null);
+        if (null != file && Files.exists(file)) {
+            try {
+                State state = mapper.readValue(file.toFile(), State.class);
+                // cached headers are only valid for the same header templates
+                if (templates().equals(state.getTemplates()))
+                    files.putAll(state.getFiles());
+                properties.putAll(state.getProperties());
+                log.info("library index: {} files loaded from '{}'", files.size(), file);
+            } catch (IOException e) {
+                log.warn("could not load library index '{}': {}", file, e.getMessage());
+            }
+        }
+        if (StringUtils.isNotBlank(appConfig.dir()))
+            walk(Paths.get(appConfig.dir()));
+    }
+
+    private String templates() {
+        return String.join("\n", headerParser.templates());
+    }
+
+    /**
+     * walk directory tree, collecting directory contents and dropping entries of removed files
+     */
+    private void walk(Path root) {
+        long timeA = System.currentTimeMillis();
+        Set<String> seen = new HashSet<>();
+        try {
+            Files.walkFileTree(root.toAbsolutePath().normalize(), new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(root.toAbsolutePath().normalize())) {
+                        if (isHidden(dir.toFile()))
+                            return FileVisitResult.SKIP_SUBTREE;
+                        List<String> siblings = directory(dir.getParent()).directories;
+                        if (!siblings.contains(dir.toString()))
+                            siblings.add(dir.toString());
+                    }
+                    directory(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && isDocument(path.getFileName().toString())) {
+                        directory(path.getParent()).files.add(path.toString());
+                        seen.add(key(path));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+                @Override
+                public FileVisitResult visitFileFailed(Path path, IOException e) {
+                    log.warn("could not read '{}': {}", path, e.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.warn("error walking library directory '{}': {}", root, e.getMessage());
+            return;
+        }
+        directories.values().forEach(d -> {
+            Collections.sort(d.files);
+            Collections.sort(d.directories);
+        });
+        Path base = null == file ? null : file.getParent();
+        if (null != base && root.toAbsolutePath().normalize().equals(base) && files.keySet().retainAll(seen))
+            modified = true;
+        log.info("library index: {} documents in {} directories indexed in {} ms",
+            seen.size(), directories.size(), System.currentTimeMillis() - timeA);
+    }
+
+    /**
+     * walk given directory again after its contents were changed (watch mode), entries of removed subdirectories are dropped
+     */
+    public void refresh(String directoryPath) {
+        Path dir = Paths.get(directoryPath).toAbsolutePath().normalize();
+        String name = dir.toString();
+        directories.keySet().removeIf(d -> d.equals(name) || d.startsWith(name + File.separator));
+        DirectoryEntry parent = null == dir.getParent() ? null : directories.get(dir.getParent().toString());
+        if (null != parent)
+            parent.directories.remove(name);
+        if (Files.isDirectory(dir)) {
+            walk(dir);
+            // walk root is not registered in its parent by the walk itself
+            if (null != parent && !isHidden(dir.toFile())) {
+                parent.directories.add(name);
+                Collections.sort(parent.directories);
+            }
+        }
+    }
+
+    private DirectoryEntry directory(Path dir) {
+        return directories.computeIfAbsent(dir.toAbsolutePath().normalize().toString(), d -> new DirectoryEntry());
+    }
+
+    // version control metadata (.git, .svn) and other hidden directories are not part of library
+    private static boolean isHidden(File directory) {
+        return directory.getName().startsWith(".");
+    }
+
+    private static boolean isDocument(String name) {
+        return name.endsWith(".adoc") || name.endsWith(".asciidoc");
+    }
+
+    /**
+     * @param directoryPath
+     * @return documents (*.adoc and *.asciidoc files) in given directory
+     */
+    public List<String> files(String directoryPath) {
+        DirectoryEntry entry = directories.get(normalize(directoryPath));
+        if (null != entry)
+            return Collections.unmodifiableList(entry.files);
+        return list(directoryPath).filter(f -> f.isFile() && isDocument(f.getName())).map(File::getAbsolutePath).sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * @param directoryPath
+     * @return subdirectories of given directory
+     */
+    public List<String> directories(String directoryPath) {
+        DirectoryEntry entry = directories.get(normalize(directoryPath));
+        if (null != entry)
+            return Collections.unmodifiableList(entry.directories);
+        return list(directoryPath).filter(f -> f.isDirectory() && !isHidden(f)).map(File::getAbsolutePath).sorted().collect(Collectors.toList());
+    }
+
+    private Stream<File> list(String directoryPath) {
+        File[] entries = new File(directoryPath).listFiles();
+        return null == entries ? Stream.empty() : Arrays.stream(entries);
+    }
+
+    /**
+     * get document header, file is read only if it has been changed since it was indexed
+     *
+     * @param inputFilename
+     * @return document header or empty if file could not be read
+     */
+    public Optional<DocumentHeader> header(String inputFilename) {
+        Path path = Paths.get(inputFilename);
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            log.error("error reading file: {}", e.getMessage());
+            return Optional.empty();
+        }
+        FileEntry entry = files.get(key(path));
+        if (null != entry && entry.getModified() == attrs.lastModifiedTime().toMillis() && entry.getSize() == attrs.size())
+            return Optional.of(header(entry));
+        log.trace("indexing document header of '{}'", inputFilename);
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            DocumentHeader header = headerParser.parse(reader);
+            put(path, attrs, header);
+            return Optional.of(header);
+        } catch (IOException e) {
+            log.error("error reading file: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param inputFilename
+     * @return header of given document as it was last indexed (the document could be changed or removed since)
+     */
+    public Optional<DocumentHeader> indexedHeader(String inputFilename) {
+        return Optional.ofNullable(files.get(key(Paths.get(inputFilename)))).map(LibraryIndex::header);
+    }
+
+    /**
+     * update index with header parsed from already loaded file
+     */
+    public void update(String inputFilename, DocumentHeader header) {
+        Path path = Paths.get(inputFilename);
+        try {
+            put(path, Files.readAttributes(path, BasicFileAttributes.class), header);
+        } catch (IOException e) {
+            log.trace("could not index '{}': {}", inputFilename, e.getMessage());
+        }
+    }
+
+    private void put(Path path, BasicFileAttributes attrs, DocumentHeader header) {
+        FileEntry entry = new FileEntry();
+        entry.setModified(attrs.lastModifiedTime().toMillis());
+        entry.setSize(attrs.size());
+        entry.setTitle(header.title());
+        entry.setOldTitle(header.oldTitle());
+        entry.setPosition(header.position());
+        entry.setDraft(header.draft());
+        entry.setPromoted(header.promoted());
+        entry.setTags(header.tags());
+        files.put(key(path), entry);
+        modified = true;
+    }
+
+    private static DocumentHeader header(FileEntry entry) {
+        return new DocumentHeader()
+            .title(entry.getTitle())
+            .oldTitle(entry.getOldTitle())
+            .position(entry.getPosition())
+            .draft(entry.isDraft())
+            .promoted(entry.isPromoted())
+            .tags(new ArrayList<>(entry.getTags()));
+    }
+
+    /**
+     * get directory properties (category / section data), properties file is read only if it has been changed
+     *
+     * @param directoryPath
+     * @return directory properties (empty if properties file could not be read)
+     */
+    public Properties properties(String directoryPath) {
+        Path path = Paths.get(String.valueOf(directoryPath), appConfig.getConfigFileName()); // same as in readProperties
+        String key = key(path);
+        PropertiesEntry entry = properties.get(key);
+        BasicFileAttributes attrs = null;
+        try {
+            attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException ignored) {
+            // reported by readProperties
+        }
+        if (null != entry && null != attrs
+        && entry.getModified() == attrs.lastModifiedTime().toMillis() && entry.getSize() == attrs.size()) {
+            Properties result = new Properties();
+            result.putAll(entry.getValues());
+            return result;
+        }
+        Properties result = fileTools.readProperties(directoryPath);
+        if (null != attrs) {
+            entry = new PropertiesEntry();
+            entry.setModified(attrs.lastModifiedTime().toMillis());
+            entry.setSize(attrs.size());
+            entry.setValues(new TreeMap<>());
+            for (String name : result.stringPropertyNames())
+                entry.getValues().put(name, result.getProperty(name));
+            properties.put(key, entry);
+            modified = true;
+        }
+        return result;
+    }
+
+    // index keys are paths relative to library root (so that index stays valid for different checkouts)
+    private String key(Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        Path base = null == file ? null : file.getParent();
+        String key = (null != base && absolute.startsWith(base)) ? base.relativize(absolute).toString() : absolute.toString();
+        return key.replace(File.separatorChar, '/');
+    }
+
+    private static String normalize(String directoryPath) {
+        return Paths.get(directoryPath).toAbsolutePath().normalize().toString();
+    }
+
+    @PreDestroy
+    public synchronized void save() {
+        if (null == file || !modified)
+            return;
+        State state = new State();
+        state.setTemplates(templates());
+        state.getFiles().putAll(files);
+        state.getProperties().putAll(properties);
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            mapper.writeValue(tempFile.toFile(), state);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            log.warn("could not save library index '{}': {}", file, e.getMessage());
+        }
+    }
+
+}
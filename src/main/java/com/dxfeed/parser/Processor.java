@@ -9,11 +9,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import com.dxfeed.config.AppConfig;
 import com.dxfeed.model.ProcessingResult;
+import com.dxfeed.model.SyncPlan;
+import com.dxfeed.zendesk.ApiExecutor;
+import com.dxfeed.zendesk.PublishManifest;
 import com.dxfeed.zendesk.ZendeskFacade;
 import com.dxfeed.zendesk.ZendeskHierarchy;
 import com.dxfeed.zendesk.ZendeskTools;
 
+import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static com.dxfeed.model.ProcessingResult.ResultType.*;
 
@@ -27,38 +34,83 @@ public class Processor {
     private final @NonNull FileProcessor fileProcessor;
     private final @NonNull ZendeskTools zendeskTools;
     private final @NonNull ZendeskFacade zendeskFacade;
+    private final @NonNull PublishManifest publishManifest;
+    private final @NonNull LibraryIndex libraryIndex;
+    private final @NonNull ConversionCache conversionCache;
+    private final @NonNull SyncPlanner syncPlanner;
+    private final @NonNull SyncPlanExecutor syncPlanExecutor;
+    private final @NonNull GitChangeProcessor gitChangeProcessor;
+    private final @NonNull WatchProcessor watchProcessor;
+    private final @NonNull ApiExecutor apiExecutor;
 
     public String process() {
         long timeA = Instant.now().toEpochMilli();
         ProcessingResult result = new ProcessingResult();
         if (appConfig.deleteAll()) {
-            zendeskFacade.getArticles().stream().forEach(a -> {
-                if (zendeskFacade.removeArticle(a)) {
-                    result.add(RT_DEL_SUCCESS);
-                    log.info("removed article '{}' from ZenDesk server", a.getTitle());
-                } else {
-                    result.add(RT_DEL_FAILURE);
-                    log.warn("could not remove article '{}' from ZenDesk server", a.getTitle());
-                }
+            zendeskFacade.getArticles().stream()
+                .map(a -> CompletableFuture.runAsync(() -> {
+                    if (zendeskFacade.removeArticle(a)) {
+                        result.add(RT_DEL_SUCCESS);
+                        log.info("removed article '{}' from ZenDesk server", a.getTitle());
+                    } else {
+                        result.add(RT_DEL_FAILURE);
+                        log.warn("could not remove article '{}' from ZenDesk server", a.getTitle());
+                    }
+                }, apiExecutor))
+                .collect(Collectors.toList())
+                .forEach(CompletableFuture::join);
+            zendeskFacade.getCategories().stream()
+                .map(c -> CompletableFuture.runAsync(() -> zendeskFacade.removeCategory(c), apiExecutor))
+                .collect(Collectors.toList())
+                .forEach(CompletableFuture::join);
+            publishManifest.clear();
+        } else if ((appConfig.plan() || appConfig.apply()) && StringUtils.isNotBlank(appConfig.dir())) {
+            Optional<SyncPlan> plan = syncPlanner.plan(appConfig.dir());
+            if (!plan.isPresent()) {
+                result.add(RT_PUB_FAILURE);
+            } else {
+                plan.get().print();
+                result.merge(appConfig.apply() ? syncPlanExecutor.execute(plan.get()) : plan.get().result());
+            }
+        } else if (appConfig.git() && StringUtils.isNotBlank(appConfig.dir())) {
+            result.merge(gitChangeProcessor.process(appConfig.dir()));
+        } else if (appConfig.watch() && StringUtils.isNotBlank(appConfig.dir())) {
+            watchProcessor.process(appConfig.dir(), (r, time) -> {
+                result.merge(r);
+                publishManifest.save();
+                libraryIndex.save();
+                conversionCache.save();
+                System.out.println(summary(r, time));
             });
-            zendeskFacade.getCategories().stream().forEach(c -> zendeskFacade.removeCategory(c));
         } else if (StringUtils.isNotBlank(appConfig.file())) {
-            result.merge(fileProcessor.process(appConfig.file(), new ZendeskHierarchy()));
+            ZendeskHierarchy hierarchy = new ZendeskHierarchy();
+            result.merge(fileProcessor.process(appConfig.file(), hierarchy));
+            if (null != hierarchy.section())
+                directoryProcessor.reorderArticles(Paths.get(appConfig.file()).toAbsolutePath().getParent().toString(), hierarchy.section());
         } else {
             if (StringUtils.isNotBlank(appConfig.dir()))
                 result.merge(directoryProcessor.process(appConfig.dir(), new ZendeskHierarchy()));
         }
+        publishManifest.save();
+        libraryIndex.save();
+        conversionCache.save();
         long timeB = Instant.now().toEpochMilli();
+        return summary(result, timeB - timeA);
+    }
+
+    private String summary(ProcessingResult result, long time) {
         return new StringBuilder()
             .append("-------------------------------------------------------------").append("\n")
-            .append("total time taken       : " + DurationFormatUtils.formatDuration( timeB - timeA, "HH:mm:ss")).append("\n")
+            .append("total time taken       : " + DurationFormatUtils.formatDuration(time, "HH:mm:ss")).append("\n")
             .append("published articles     : " + result.get(RT_PUB_SUCCESS).get()).append("\n")
             .append("published drafts       : " + result.get(RT_PUB_DRAFT).get()).append("\n")
+            .append("unchanged articles     : " + result.get(RT_PUB_UNCHANGED).get()).append("\n")
             .append("publishing errors      : " + result.get(RT_PUB_FAILURE).get()).append("\n")
             .append("successfully removed   : " + result.get(RT_DEL_SUCCESS).get()).append("\n")
             .append("removal errors         : " + result.get(RT_DEL_FAILURE).get()).append("\n")
             .append("skipped directories    : " + result.get(RT_DIR_SKIPPED).get()).append("\n")
             .append("printed documents      : " + result.get(RT_FILE_PRINTED).get()).append("\n")
+            .append("API concurrency limit  : " + zendeskFacade.concurrencyLimit()).append("\n")
             .toString();
     }
 }
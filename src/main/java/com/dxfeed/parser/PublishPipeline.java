@@ -0,0 +1,166 @@
+package com.dxfeed.parser;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.dxfeed.model.Document;
+import com.dxfeed.model.ProcessingResult;
+import com.dxfeed.zendesk.ApiExecutor;
+import com.dxfeed.zendesk.ZendeskHierarchy;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.dxfeed.model.ProcessingResult.ResultType.*;
+
+/**
+ * staged document processing: read -> convert -> publish
+ *
+ * documents are read (and headers parsed) on a calling thread, converted on a CPU-bound pool sized to the
+ * asciidoctor pool and published by {@link ApiExecutor} (on platform or virtual threads), so that conversion of
+ * next documents overlaps with network calls for previous ones; number of documents in flight is bounded, so reader
+ * blocks when downstream stages fall behind
+ *
+ * configuration:
+ *
+ *   asciidoc.pipeline.capacity - maximum number of documents in flight (0 - twice the number of converting threads
+ *                                and API tasks in flight)
+ *   library.parallelism.files  - maximum number of documents of a single directory in flight (0 - not limited)
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class PublishPipeline {
+
+    @Value("${asciidoc.pipeline.capacity:0}")
+    private int capacity;
+
+    @Value("${library.parallelism.files:0}")
+    private int filesPerDirectory;
+
+    private final @NonNull FileProcessor fileProcessor;
+    private final @NonNull AsciidoctorPool asciidoctorPool;
+    private final @NonNull ApiExecutor apiExecutor;
+
+    private ExecutorService convertExecutor = null;
+    private Semaphore       inFlight        = null;
+
+    private final AtomicLong processed = new AtomicLong(0); // documents went through the pipeline
+
+    @PostConstruct
+    private void init() {
+        int convertThreads = asciidoctorPool.size();
+        convertExecutor = Executors.newFixedThreadPool(convertThreads, threadFactory("a2z-convert-"));
+        inFlight        = new Semaphore(capacity > 0 ? capacity : 2 * (convertThreads + apiExecutor.parallelism()));
+    }
+
+    @PreDestroy
+    private void close() {
+        convertExecutor.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger(0);
+        return r -> {
+            Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * process given files within given hierarchy, waiting for all documents to be published
+     *
+     * @param inputFilenames
+     * @param hierarchy
+     * @return merged processing result
+     */
+    public ProcessingResult process(List<String> inputFilenames, ZendeskHierarchy hierarchy) {
+        // documents are published after caller may have moved on to another directory, so keep own copy
+        ZendeskHierarchy target = hierarchy.copy();
+
+        // documents of a single directory could be limited, so that sibling directories get their share of pipeline
+        Semaphore directoryInFlight = new Semaphore(filesPerDirectory > 0 ? filesPerDirectory : Integer.MAX_VALUE);
+
+        List<CompletableFuture<ProcessingResult>> futures = new ArrayList<>();
+        ProcessingResult result = new ProcessingResult();
+        for (String inputFilename : inputFilenames) {
+            try {
+                directoryInFlight.acquire();
+                try {
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    directoryInFlight.release();
+                    throw e;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("interrupted while waiting to process '{}'", inputFilename);
+                result.add(RT_PUB_FAILURE);
+                break;
+            }
+            log.info(">> start file processing: '{}'", inputFilename);
+            Optional<Document> document = fileProcessor.read(inputFilename, target);
+            if (!document.isPresent()) {
+                inFlight.release();
+                directoryInFlight.release();
+                continue;
+            }
+            futures.add(submit(document.get(), target).whenComplete((r, e) -> directoryInFlight.release()));
+        }
+        futures.forEach(f -> result.merge(f.join()));
+        return result;
+    }
+
+    /**
+     * @return total number of documents went through the pipeline (for progress reporting)
+     */
+    public long processed() {
+        return processed.get();
+    }
+
+    /**
+     * run given task (reading and converting documents outside of pipeline, e.g. while planning) on converting threads
+     *
+     * @param task
+     * @return future completed with task result
+     */
+    public <T> CompletableFuture<T> convert(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, convertExecutor);
+    }
+
+    private CompletableFuture<ProcessingResult> submit(Document document, ZendeskHierarchy hierarchy) {
+        return CompletableFuture
+            .supplyAsync(() -> fileProcessor.render(document), convertExecutor)
+            .thenApplyAsync(cd -> cd
+                    .map(c -> fileProcessor.publishOrPrint(document, c, hierarchy))
+                    .orElseGet(ProcessingResult::new),
+                apiExecutor)
+            .exceptionally(e -> {
+                log.warn("error processing document '{}': {}", document.inputFilename(), e.getMessage());
+                if (log.isTraceEnabled())
+                    e.printStackTrace();
+                return new ProcessingResult(RT_PUB_FAILURE);
+            })
+            .whenComplete((r, e) -> {
+                processed.incrementAndGet();
+                inFlight.release();
+            });
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.dxfeed.parser;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.zendesk.client.v2.model.hc.Article;
+import org.zendesk.client.v2.model.hc.Category;
+import org.zendesk.client.v2.model.hc.Section;
+import com.dxfeed.config.AppConfig;
+import com.dxfeed.model.ProcessingResult;
+import com.dxfeed.model.SyncPlan;
+import com.dxfeed.model.SyncPlan.ArticleOperation;
+import com.dxfeed.model.SyncPlan.CategoryOperation;
+import com.dxfeed.model.SyncPlan.SectionOperation;
+import com.dxfeed.zendesk.ApiExecutor;
+import com.dxfeed.zendesk.ImageAttachments;
+import com.dxfeed.zendesk.PublishManifest;
+import com.dxfeed.zendesk.ZendeskAsyncFacade;
+import com.dxfeed.zendesk.ZendeskFacade;
+import com.dxfeed.zendesk.ZendeskTools;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.dxfeed.model.ProcessingResult.ResultType.*;
+import static com.dxfeed.model.SyncPlan.Action.*;
+
+/**
+ * second phase of plan / apply mode: executes synchronization plan as a dependency graph
+ *
+ * each section operation waits for its category only and each article operation - for its section only, so that
+ * independent branches of the tree are applied in parallel (by {@link ApiExecutor}); articles are written with
+ * {@link ZendeskAsyncFacade}, so that many of them are in flight without a thread each; stale articles are removed
+ * after all the other operations are done
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SyncPlanExecutor {
+
+    private final @NonNull AppConfig appConfig;
+    private final @NonNull ZendeskTools zendeskTools;
+    private final @NonNull ZendeskFacade zendeskFacade;
+    private final @NonNull ZendeskAsyncFacade zendeskAsyncFacade;
+    private final @NonNull PublishManifest publishManifest;
+    private final @NonNull ApiExecutor apiExecutor;
+    private final @NonNull ImageAttachments imageAttachments;
+
+    /**
+     * apply given plan, waiting for all the operations to complete
+     *
+     * @param plan
+     * @return processing result (including planning failures)
+     */
+    public ProcessingResult execute(SyncPlan plan) {
+        long timeA = System.currentTimeMillis();
+        Map<CategoryOperation, CompletableFuture<Optional<Category>>> categories = new HashMap<>();
+        Map<SectionOperation, CompletableFuture<Optional<Section>>>   sections   = new HashMap<>();
+        List<CompletableFuture<ProcessingResult>> articles = new ArrayList<>();
+        List<ArticleOperation> removals = new ArrayList<>();
+
+        for (CategoryOperation operation : plan.categories())
+            categories.put(operation, async("applying " + operation, Optional.empty(), () -> apply(operation)));
+        for (SectionOperation operation : plan.sections())
+            sections.put(operation, categories.get(operation.category())
+                .thenCompose(category -> async("applying " + operation, Optional.empty(),
+                    () -> category.flatMap(c -> apply(operation, c)))));
+        for (ArticleOperation operation : plan.articles()) {
+            if (operation.actions().contains(DELETE)) {
+                removals.add(operation);
+                continue;
+            }
+            articles.add(sections.get(operation.section())
+                .thenCompose(section -> section
+                    .map(s -> apply(operation, s))
+                    .orElseGet(() -> CompletableFuture.completedFuture(
+                        null == operation.document() ? new ProcessingResult() : new ProcessingResult(RT_PUB_FAILURE))))
+                .exceptionally(e -> failure("applying " + operation, e, new ProcessingResult(RT_PUB_FAILURE))));
+        }
+
+        ProcessingResult result = new ProcessingResult().merge(plan.result());
+        articles.forEach(f -> result.merge(f.join()));
+
+        List<CompletableFuture<ProcessingResult>> removed = new ArrayList<>();
+        for (ArticleOperation operation : removals)
+            removed.add(remove(operation).exceptionally(e -> failure("applying " + operation, e, new ProcessingResult(RT_DEL_FAILURE))));
+        removed.forEach(f -> result.merge(f.join()));
+
+        log.info("synchronization plan applied in {} ms", System.currentTimeMillis() - timeA);
+        return result;
+    }
+
+    private <T> CompletableFuture<T> async(String action, T fallback, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, apiExecutor)
+            .exceptionally(e -> failure(action, e, fallback));
+    }
+
+    private static <T> T failure(String action, Throwable e, T fallback) {
+        log.warn("error {}: {}", action, e.getMessage());
+        if (log.isTraceEnabled())
+            e.printStackTrace();
+        return fallback;
+    }
+
+    private Optional<Category> apply(CategoryOperation operation) {
+        if (operation.actions().contains(CREATE))
+            return zendeskFacade.addCategory(operation.name(), operation.description(), operation.position());
+        if (operation.actions().equals(EnumSet.of(REORDER)))
+            return zendeskFacade.updateCategoryPosition(operation.existing(), operation.position())
+                ? Optional.of(operation.existing()) : Optional.empty();
+        if (operation.changed())
+            return zendeskFacade.updateCategory(operation.existing(), operation.name(), operation.description(), operation.position());
+        return Optional.of(operation.existing());
+    }
+
+    private Optional<Section> apply(SectionOperation operation, Category category) {
+        if (operation.actions().contains(CREATE))
+            return zendeskFacade.addSection(category, operation.name(), operation.description(), operation.position());
+        if (operation.actions().equals(EnumSet.of(REORDER)))
+            return zendeskFacade.updateSectionPosition(operation.existing(), operation.position())
+                ? Optional.of(operation.existing()) : Optional.empty();
+        if (operation.changed())
+            return zendeskFacade.updateSection(operation.existing(), operation.name(), operation.description(), operation.position());
+        return Optional.of(operation.existing());
+    }
+
+    // article data is prepared on API executor (it may look up permission group or upload images), while article
+    // itself is written with async facade, so that no thread is held while the write waits for zendesk
+    private CompletableFuture<ProcessingResult> apply(ArticleOperation operation, Section section) {
+        if (null == operation.document())
+            return CompletableFuture.completedFuture(new ProcessingResult()); // could not be read or converted, already counted while planning
+        if (!operation.changed()) {
+            log.info("article '{}' not changed since last publication, skipping", operation.name());
+            // unchanged article could be recognized by its fingerprint label only
+            publishManifest.put(operation.source(), operation.existing().getId(), section.getId(), operation.fingerprint());
+            return CompletableFuture.completedFuture(new ProcessingResult(RT_PUB_UNCHANGED));
+        }
+
+        CompletableFuture<Optional<Article>> processedArticle;
+        if (operation.actions().contains(CREATE)) {
+            log.trace("creating new article in zendesk '{}'", operation.name());
+            processedArticle = async("preparing " + operation, Optional.<Article>empty(), () -> zendeskTools
+                    .createArticle(operation.document(), section, operation.convertedDocument(), appConfig.group(),
+                        imageAttachments.createdFingerprint(operation.convertedDocument(), operation.fingerprint()))
+                    .map(a -> {
+                        if (null != operation.position())
+                            a.setPosition(operation.position());
+                        return a;
+                    }))
+                .thenCompose(article -> write(article, zendeskAsyncFacade::addArticle));
+            if (imageAttachments.hasImages(operation.convertedDocument())) {
+                // images could be attached once article exists only
+                processedArticle = processedArticle.thenCompose(created -> async("attaching images of " + operation, Optional.empty(),
+                    () -> created.flatMap(a -> imageAttachments.attachCreated(a, operation.document(), operation.convertedDocument(), operation.fingerprint()))));
+            }
+        } else if (operation.actions().equals(EnumSet.of(REORDER))) {
+            log.trace("moving existing article in zendesk '{}'", operation.name());
+            processedArticle = zendeskAsyncFacade.updateArticlePosition(operation.existing(), operation.position())
+                .thenApply(moved -> moved ? Optional.of(operation.existing()) : Optional.empty());
+        } else {
+            log.trace("updating existing article in zendesk '{}'", operation.name());
+            processedArticle = async("preparing " + operation, Optional.<Article>empty(), () -> imageAttachments
+                    .attach(operation.existing(), operation.convertedDocument())
+                    .flatMap(contents -> zendeskTools.updateArticle(operation.existing(), operation.document(), contents, operation.fingerprint()))
+                    .map(a -> {
+                        a.setSectionId(section.getId());
+                        if (null != operation.position())
+                            a.setPosition(operation.position());
+                        return a;
+                    }))
+                .thenCompose(article -> write(article, a -> zendeskAsyncFacade.updateArticle(operation.existing(), a)));
+        }
+
+        return processedArticle.thenApply(processed -> {
+            if (!processed.isPresent()) {
+                log.warn("could not create or update article '{}' on zendesk server", operation.name());
+                publishManifest.remove(operation.source());
+                return new ProcessingResult(RT_PUB_FAILURE);
+            }
+            publishManifest.put(operation.source(), processed.get().getId(), section.getId(), operation.fingerprint());
+            return operation.document().draft() ? new ProcessingResult(RT_PUB_DRAFT) : new ProcessingResult(RT_PUB_SUCCESS);
+        });
+    }
+
+    private static CompletableFuture<Optional<Article>> write(Optional<Article> article,
+        Function<Article, CompletableFuture<Optional<Article>>> request)
+    {
+        return article.map(request).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    private CompletableFuture<ProcessingResult> remove(ArticleOperation operation) {
+        Article article = operation.existing();
+        log.info("removing stale article '{}' #({}) from zendesk", article.getTitle(), article.getId());
+        return zendeskAsyncFacade.removeArticle(article).thenApply(removed -> {
+            if (removed) {
+                publishManifest.removeArticle(article.getId());
+                return new ProcessingResult(RT_DEL_SUCCESS);
+            }
+            return new ProcessingResult(RT_DEL_FAILURE);
+        });
+    }
+
+}
@@ -0,0 +1,345 @@
+package com.dxfeed.parser;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.zendesk.client.v2.model.hc.Article;
+import org.zendesk.client.v2.model.hc.Category;
+import org.zendesk.client.v2.model.hc.Section;
+import com.dxfeed.config.AppConfig;
+import com.dxfeed.model.Document;
+import com.dxfeed.model.HierarchyEntry;
+import com.dxfeed.model.ProcessingResult;
+import com.dxfeed.model.SyncPlan;
+import com.dxfeed.model.SyncPlan.ArticleOperation;
+import com.dxfeed.model.SyncPlan.CategoryOperation;
+import com.dxfeed.model.SyncPlan.SectionOperation;
+import com.dxfeed.zendesk.HelpCenterIndex;
+import com.dxfeed.zendesk.ImageAttachments;
+import com.dxfeed.zendesk.PublishManifest;
+import com.dxfeed.zendesk.ReorderPlanner;
+import com.dxfeed.zendesk.ZendeskFacade;
+import com.dxfeed.zendesk.ZendeskHierarchy;
+import com.dxfeed.zendesk.ZendeskTools;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.dxfeed.model.ProcessingResult.ResultType.*;
+import static com.dxfeed.model.SyncPlan.Action.*;
+
+/**
+ * first phase of plan / apply mode: builds local model of library tree and diffs it against help center snapshot
+ *
+ * categories and sections are matched by name (or old name), articles - by title (or old title) within section
+ * and then by article id recorded in publish manifest (to detect articles moved to another section); documents are
+ * converted while planning, so that plan could be applied without touching library files again
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SyncPlanner {
+
+    private final @NonNull AppConfig appConfig;
+    private final @NonNull ZendeskTools zendeskTools;
+    private final @NonNull ZendeskFacade zendeskFacade;
+    private final @NonNull FileProcessor fileProcessor;
+    private final @NonNull PublishManifest publishManifest;
+    private final @NonNull LibraryIndex libraryIndex;
+    private final @NonNull ImageAttachments imageAttachments;
+    private final @NonNull PublishPipeline publishPipeline;
+
+    // planning state: help center snapshot and operations by name (the same category could be set in many directories)
+    private static class Planning {
+        private final SyncPlan                      plan       = new SyncPlan();
+        private final Map<String, CategoryOperation> categories = new HashMap<>();
+        private final Map<String, SectionOperation>  sections   = new HashMap<>();
+        private final HelpCenterIndex                snapshot;
+
+        private Planning(HelpCenterIndex snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * build synchronization plan for given library directory
+     *
+     * @param directoryPath
+     * @return plan or empty if help center snapshot could not be fetched
+     */
+    public Optional<SyncPlan> plan(String directoryPath) {
+        Optional<HelpCenterIndex> snapshot = zendeskFacade.index();
+        if (!snapshot.isPresent()) {
+            log.warn("could not fetch help center snapshot, no plan built");
+            return Optional.empty();
+        }
+        long timeA = System.currentTimeMillis();
+        Planning planning = new Planning(snapshot.get());
+        walk(planning, directoryPath, null, null);
+
+        // documents are read and converted on pipeline converting threads (bounded by asciidoctor pool), not on
+        // common fork-join pool, as conversion blocks on files, asciidoctor instances and zendesk lookups
+        planning.plan.articles().stream()
+            .map(a -> publishPipeline.convert(() -> diff(planning, a))
+                .exceptionally(e -> {
+                    log.warn("error planning document '{}': {}", a.source(), e.getMessage());
+                    if (log.isTraceEnabled())
+                        e.printStackTrace();
+                    return new ProcessingResult(RT_PUB_FAILURE);
+                }))
+            .collect(Collectors.toList())
+            .forEach(f -> planning.plan.result().merge(f.join()));
+
+        planPositions(planning);
+        if (appConfig.clean())
+            planRemovals(planning);
+
+        log.info("synchronization plan built in {} ms: {} operations, {} changes",
+            System.currentTimeMillis() - timeA, planning.plan.operations().count(), planning.plan.changes().size());
+        return Optional.of(planning.plan);
+    }
+
+    private void walk(Planning planning, String directoryPath, CategoryOperation category, SectionOperation section) {
+        Properties properties = libraryIndex.properties(directoryPath);
+        Optional<HierarchyEntry> categoryEntry = zendeskTools.category(properties);
+        Optional<HierarchyEntry> sectionEntry  = zendeskTools.section(properties);
+
+        if (!categoryEntry.isPresent() && !sectionEntry.isPresent()) {
+            log.warn("neither category nor section name set in properties of {}", directoryPath);
+            planning.plan.result().add(RT_DIR_SKIPPED);
+        } else {
+            // reset section on directory change
+            if (!sectionEntry.isPresent())
+                section = null;
+            if (categoryEntry.isPresent() && (null == category || !category.name().equalsIgnoreCase(categoryEntry.get().name())))
+                category = category(planning, directoryPath, categoryEntry.get());
+            if (sectionEntry.isPresent() && (null == section || !section.name().equalsIgnoreCase(sectionEntry.get().name()))) {
+                if (null == category) {
+                    log.warn("category not set for section '{}' in {}", sectionEntry.get().name(), directoryPath);
+                    planning.plan.result().add(RT_DIR_SKIPPED);
+                } else {
+                    section = section(planning, directoryPath, category, sectionEntry.get());
+                }
+            }
+            if (null != section) {
+                for (String inputFilename : libraryIndex.files(directoryPath)) {
+                    ArticleOperation article = new ArticleOperation().section(section);
+                    article.source(inputFilename);
+                    planning.plan.articles().add(article);
+                }
+            }
+        }
+        for (String subdirectory : libraryIndex.directories(directoryPath))
+            walk(planning, subdirectory, category, section);
+    }
+
+    private CategoryOperation category(Planning planning, String directoryPath, HierarchyEntry entry) {
+        String key = entry.name().toLowerCase(Locale.ROOT);
+        CategoryOperation known = planning.categories.get(key);
+        if (null != known)
+            return known;
+
+        CategoryOperation operation = new CategoryOperation().description(entry.description()).position(entry.position());
+        operation.source(directoryPath).name(entry.name()).oldName(entry.oldName());
+
+        Optional<Category> existing = planning.snapshot.category(entry.name());
+        if (!existing.isPresent() && StringUtils.isNotBlank(entry.oldName()))
+            existing = planning.snapshot.category(entry.oldName());
+
+        if (!existing.isPresent()) {
+            operation.add(CREATE);
+        } else {
+            Category category = existing.get();
+            operation.existing(category);
+            if (zendeskTools.forcedUpdate()) {
+                if (!entry.name().equals(category.getName()))
+                    operation.add(RENAME).oldName(category.getName());
+                if (!StringUtils.equalsIgnoreCase(entry.description(), category.getDescription()))
+                    operation.add(UPDATE);
+            }
+        }
+        planning.categories.put(key, operation);
+        planning.plan.categories().add(operation);
+        return operation;
+    }
+
+    private SectionOperation section(Planning planning, String directoryPath, CategoryOperation category, HierarchyEntry entry) {
+        String key = category.name().toLowerCase(Locale.ROOT) + "/" + entry.name().toLowerCase(Locale.ROOT);
+        SectionOperation known = planning.sections.get(key);
+        if (null != known)
+            return known;
+
+        SectionOperation operation = new SectionOperation().category(category).description(entry.description()).position(entry.position());
+        operation.source(directoryPath).name(entry.name()).oldName(entry.oldName());
+
+        Optional<Section> existing = Optional.empty();
+        if (null != category.existing()) {
+            existing = planning.snapshot.section(category.existing(), entry.name());
+            if (!existing.isPresent() && StringUtils.isNotBlank(entry.oldName()))
+                existing = planning.snapshot.section(category.existing(), entry.oldName());
+        }
+
+        if (!existing.isPresent()) {
+            operation.add(CREATE);
+        } else {
+            Section section = existing.get();
+            operation.existing(section);
+            if (zendeskTools.forcedUpdate()) {
+                if (!entry.name().equals(section.getName()))
+                    operation.add(RENAME).oldName(section.getName());
+                if (!StringUtils.equalsIgnoreCase(entry.description(), section.getDescription()))
+                    operation.add(UPDATE);
+            }
+        }
+        planning.sections.put(key, operation);
+        planning.plan.sections().add(operation);
+        return operation;
+    }
+
+    private ProcessingResult diff(Planning planning, ArticleOperation operation) {
+        String inputFilename = operation.source();
+        Optional<Document> document = fileProcessor.read(inputFilename, hierarchy(operation.section()));
+        if (!document.isPresent())
+            return new ProcessingResult(RT_PUB_FAILURE);
+        operation.name(document.get().title()).oldName(document.get().oldTitle());
+
+        Optional<Article> existing = match(planning.snapshot, operation);
+        existing.ifPresent(operation::existing);
+
+        Optional<String> convertedDocument = fileProcessor.render(document.get());
+        if (!convertedDocument.isPresent())
+            return new ProcessingResult(RT_PUB_FAILURE); // existing article is still matched, so it's not removed as stale
+        // local images are named after their contents, so that fingerprint changes with them
+        operation.document(document.get()).convertedDocument(imageAttachments.localImages(document.get(), convertedDocument.get()));
+        operation.fingerprint(PublishManifest.fingerprint(document.get(), operation.convertedDocument(), appConfig.group()));
+
+        if (!existing.isPresent()) {
+            operation.add(CREATE);
+            return new ProcessingResult();
+        }
+
+        Article article = existing.get();
+        Long sectionId = null == operation.section().existing() ? null : operation.section().existing().getId();
+        if (!appConfig.force() && Objects.equals(article.getSectionId(), sectionId)
+        && (publishManifest.isPublished(inputFilename, sectionId, operation.fingerprint())
+            || zendeskTools.isPublished(article, operation.fingerprint())))
+            return new ProcessingResult();
+
+        Document target = document.get();
+        if (!Objects.equals(article.getSectionId(), sectionId))
+            operation.add(MOVE);
+        if (!target.title().equals(article.getTitle()))
+            operation.add(RENAME).oldName(article.getTitle());
+        if (!Objects.equals(operation.convertedDocument(), imageAttachments.detach(article.getBody()))
+        || !Objects.equals(target.draft(), article.getDraft())
+        || !Objects.equals(target.promoted(), article.getPromoted())
+        || !Objects.equals(target.tags(), ZendeskTools.labels(article))
+        || !operation.changed()) // fingerprint differs, but no visible difference (e.g. permission group)
+            operation.add(UPDATE);
+        return new ProcessingResult();
+    }
+
+    // positions are planned for siblings as a whole, so that only the ones out of order are moved (see ReorderPlanner);
+    // existing categories and sections are reordered with forced update only, the same as they are updated
+    private void planPositions(Planning planning) {
+        if (zendeskTools.forcedUpdate()) {
+            Map<CategoryOperation, Long> categories = ReorderPlanner.plan(planning.plan.categories(),
+                c -> null == c.existing() ? null : c.existing().getPosition(), CategoryOperation::position);
+            for (CategoryOperation category : planning.plan.categories()) {
+                if (categories.containsKey(category))
+                    category.position(categories.get(category));
+                else if (null != category.existing())
+                    category.position(category.existing().getPosition());
+                if (categories.containsKey(category) && null != category.existing())
+                    category.add(REORDER);
+            }
+            Map<CategoryOperation, List<SectionOperation>> siblings = planning.plan.sections().stream()
+                .collect(Collectors.groupingBy(SectionOperation::category));
+            for (List<SectionOperation> sections : siblings.values()) {
+                Map<SectionOperation, Long> positions = ReorderPlanner.plan(sections,
+                    s -> null == s.existing() ? null : s.existing().getPosition(), SectionOperation::position);
+                for (SectionOperation section : sections) {
+                    if (positions.containsKey(section))
+                        section.position(positions.get(section));
+                    else if (null != section.existing())
+                        section.position(section.existing().getPosition());
+                    if (positions.containsKey(section) && null != section.existing())
+                        section.add(REORDER);
+                }
+            }
+        }
+
+        // articles moved from another section have no current position in this one
+        Map<SectionOperation, List<ArticleOperation>> siblings = planning.plan.articles().stream()
+            .filter(a -> null != a.document() && !a.actions().contains(DELETE))
+            .collect(Collectors.groupingBy(ArticleOperation::section));
+        for (List<ArticleOperation> articles : siblings.values()) {
+            Map<ArticleOperation, Long> positions = ReorderPlanner.plan(articles,
+                a -> null == a.existing() || a.actions().contains(MOVE) ? null : a.existing().getPosition(),
+                a -> a.document().position());
+            positions.forEach((article, position) -> {
+                article.position(position);
+                if (!article.actions().contains(CREATE))
+                    article.add(REORDER);
+            });
+        }
+    }
+
+    private Optional<Article> match(HelpCenterIndex snapshot, ArticleOperation operation) {
+        Optional<Article> existing = Optional.empty();
+        Section section = operation.section().existing();
+        if (null != section) {
+            // for renaming support articles are looked up with either 'title' or 'oldTitle'
+            String requestTitle = StringUtils.isBlank(operation.oldName()) ? operation.name() : operation.oldName();
+            existing = snapshot.article(section, requestTitle);
+            if (!existing.isPresent())
+                existing = snapshot.article(section, operation.name());
+        }
+        // article published from the same file into another section
+        if (!existing.isPresent())
+            existing = publishManifest.get(operation.source())
+                .flatMap(e -> snapshot.article(e.getArticleId()));
+        // article published from a file which was moved here
+        if (!existing.isPresent())
+            existing = snapshot.article(operation.name())
+                .filter(a -> publishManifest.isOrphaned(a.getId()));
+        return existing;
+    }
+
+    // stale articles are the ones of planned sections not matched with any document
+    private void planRemovals(Planning planning) {
+        Set<Long> matched = planning.plan.articles().stream()
+            .filter(a -> null != a.existing())
+            .map(a -> a.existing().getId())
+            .collect(Collectors.toSet());
+        for (SectionOperation section : planning.plan.sections()) {
+            if (null == section.existing())
+                continue;
+            Set<String> titles = planning.plan.articles().stream()
+                .filter(a -> a.section() == section && null != a.name())
+                .map(ArticleOperation::name)
+                .collect(Collectors.toSet());
+            for (Article article : planning.snapshot.articles(section.existing())) {
+                if (matched.contains(article.getId()) || titles.contains(article.getTitle()))
+                    continue;
+                ArticleOperation removal = new ArticleOperation().section(section).existing(article);
+                removal.name(article.getTitle()).add(DELETE);
+                planning.plan.articles().add(removal);
+            }
+        }
+    }
+
+    // hierarchy with names only, as the ones to be created do not exist yet
+    private static ZendeskHierarchy hierarchy(SectionOperation section) {
+        Category category = new Category();
+        category.setName(section.category().name());
+        Section target = new Section();
+        target.setName(section.name());
+        return new ZendeskHierarchy().category(category).section(target);
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.dxfeed.parser;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.dxfeed.model.ProcessingResult;
+import com.dxfeed.zendesk.ZendeskHierarchy;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static com.dxfeed.model.ProcessingResult.ResultType.*;
+
+/**
+ * library tree walker: visits a directory and then its subdirectories in parallel on dedicated executors
+ *
+ * library root and category directories (first level) are visited on one executor, section directories (second
+ * level and deeper) - on another one, so that parallelism is set per level and nothing runs on the common fork-join
+ * pool; visitor gets its own copy of parent's hierarchy and subdirectories get copies of the one it left, so that
+ * hierarchies are never shared between tasks; walker threads never wait for each other, subdirectories are visited
+ * once their parent is done
+ *
+ * configuration:
+ *
+ *   library.parallelism.categories - number of category directories visited in parallel
+ *   library.parallelism.sections   - number of section directories visited in parallel
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class TreeWalker {
+
+    @Value("${library.parallelism.categories:2}")
+    private int categoryThreads;
+
+    @Value("${library.parallelism.sections:4}")
+    private int sectionThreads;
+
+    private final @NonNull LibraryIndex libraryIndex;
+
+    private ExecutorService categoryExecutor = null;
+    private ExecutorService sectionExecutor  = null;
+
+    @PostConstruct
+    private void init() {
+        categoryExecutor = Executors.newFixedThreadPool(Math.max(1, categoryThreads), threadFactory("a2z-walk-category-"));
+        sectionExecutor  = Executors.newFixedThreadPool(Math.max(1, sectionThreads), threadFactory("a2z-walk-section-"));
+    }
+
+    @PreDestroy
+    private void close() {
+        categoryExecutor.shutdownNow();
+        sectionExecutor.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger(0);
+        return r -> {
+            Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * visit given directory and all its subdirectories, waiting for the whole tree to be processed
+     *
+     * @param directoryPath
+     * @param hierarchy hierarchy of parent directory (not changed)
+     * @param visitor processes a directory within (and updates) given hierarchy copy
+     * @return merged processing result
+     */
+    public ProcessingResult walk(String directoryPath, ZendeskHierarchy hierarchy,
+        BiFunction<String, ZendeskHierarchy, ProcessingResult> visitor)
+    {
+        return walk(directoryPath, hierarchy.copy(), visitor, 0).join();
+    }
+
+    private CompletableFuture<ProcessingResult> walk(String directoryPath, ZendeskHierarchy hierarchy,
+        BiFunction<String, ZendeskHierarchy, ProcessingResult> visitor, int depth)
+    {
+        return CompletableFuture
+            .supplyAsync(() -> visitor.apply(directoryPath, hierarchy), depth <= 1 ? categoryExecutor : sectionExecutor)
+            .exceptionally(e -> {
+                log.warn("error processing directory '{}': {}", directoryPath, e.getMessage());
+                if (log.isTraceEnabled())
+                    e.printStackTrace();
+                return new ProcessingResult(RT_DIR_SKIPPED);
+            })
+            .thenCompose(result -> {
+                List<CompletableFuture<ProcessingResult>> subdirectories = libraryIndex.directories(directoryPath).stream()
+                    .map(d -> walk(d, hierarchy.copy(), visitor, depth + 1))
+                    .collect(Collectors.toList());
+                return CompletableFuture
+                    .allOf(subdirectories.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(v -> {
+                        subdirectories.forEach(f -> result.merge(f.join()));
+                        return result;
+                    });
+            });
+    }
+
+}
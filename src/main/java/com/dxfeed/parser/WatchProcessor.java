@@ -0,0 +1,206 @@
+package com.dxfeed.parser;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.dxfeed.model.DocumentHeader;
+import com.dxfeed.model.FileChange;
+import com.dxfeed.model.ProcessingResult;
+import com.dxfeed.zendesk.PublishManifest;
+import com.dxfeed.zendesk.ReconciliationRegistry;
+import com.dxfeed.zendesk.ZendeskHierarchy;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * watch mode: after initial publication of the whole library keeps watching library tree and republishes affected
+ * articles only (see {@link ChangeProcessor}), asciidoctor instances and help center index stay warm between batches
+ *
+ * file system events are collected until no new events arrive within debounce window; a document removed and a
+ * document with the same title created within the same batch are treated as renamed (moved) document
+ *
+ * configuration:
+ *
+ *   watch.debounce - debounce window in milliseconds
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class WatchProcessor {
+
+    @Value("${watch.debounce:500}")
+    private long debounce;
+
+    private final @NonNull ChangeProcessor changeProcessor;
+    private final @NonNull DirectoryProcessor directoryProcessor;
+    private final @NonNull PublishManifest publishManifest;
+    private final @NonNull LibraryIndex libraryIndex;
+    private final @NonNull ReconciliationRegistry reconciliationRegistry;
+
+    /**
+     * publish given directory and republish its changes until interrupted
+     *
+     * @param directoryPath
+     * @param listener accepts result and time taken (in ms) of initial publication and of each batch of changes
+     */
+    public void process(String directoryPath, BiConsumer<ProcessingResult, Long> listener) {
+        Path root = Paths.get(directoryPath).toAbsolutePath().normalize();
+        try (WatchService watchService = root.getFileSystem().newWatchService()) {
+            Map<WatchKey, Path> keys = new HashMap<>();
+            register(watchService, keys, root, root);
+
+            long timeA = System.currentTimeMillis();
+            listener.accept(directoryProcessor.process(root.toString(), new ZendeskHierarchy()), System.currentTimeMillis() - timeA);
+            log.info("watching '{}' for changes", root);
+
+            // last event kind of each changed path (creation is kept, so that created directory is walked)
+            Map<Path, WatchEvent.Kind<?>> pending = new LinkedHashMap<>();
+            boolean overflow = false;
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = pending.isEmpty() && !overflow ? watchService.take() : watchService.poll(debounce, TimeUnit.MILLISECONDS);
+                if (null == key) {
+                    timeA = System.currentTimeMillis();
+                    reconciliationRegistry.clear(); // every batch is a new run
+                    ProcessingResult result = overflow ? republish(root) : process(root, pending);
+                    listener.accept(result, System.currentTimeMillis() - timeA);
+                    pending.clear();
+                    overflow = false;
+                    continue;
+                }
+                Path directory = keys.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW || null == directory) {
+                        overflow = true;
+                        continue;
+                    }
+                    Path path = directory.resolve((Path) event.context());
+                    if (changeProcessor.isIgnored(root.relativize(path)))
+                        continue;
+                    if (event.kind() == ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS))
+                        register(watchService, keys, root, path);
+                    if (ENTRY_CREATE != pending.get(path) || ENTRY_DELETE == event.kind())
+                        pending.put(path, event.kind());
+                }
+                if (!key.reset())
+                    keys.remove(key);
+            }
+        } catch (IOException e) {
+            log.warn("could not watch directory '{}': {}", root, e.getMessage());
+            if (log.isTraceEnabled())
+                e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.trace("watch service closed");
+        }
+        log.info("stopped watching '{}'", root);
+    }
+
+    private void register(WatchService watchService, Map<WatchKey, Path> keys, Path root, Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.filter(Files::isDirectory).collect(Collectors.toList())) {
+                // checked as a parent of some file, so that hidden directories are skipped as well
+                if (!path.equals(root) && changeProcessor.isIgnored(root.relativize(path).resolve("-")))
+                    continue;
+                keys.put(path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), path);
+            }
+        }
+    }
+
+    // events could be lost, so whole library is processed again
+    private ProcessingResult republish(Path root) {
+        log.warn("too many file system events, processing whole directory");
+        libraryIndex.refresh(root.toString());
+        return directoryProcessor.process(root.toString(), new ZendeskHierarchy());
+    }
+
+    private ProcessingResult process(Path root, Map<Path, WatchEvent.Kind<?>> pending) {
+        Map<String, FileChange> changed = new LinkedHashMap<>(); // files of removed directory could be reported twice
+        Set<Path> structural = new TreeSet<>();
+        for (Map.Entry<Path, WatchEvent.Kind<?>> event : pending.entrySet()) {
+            Path path = event.getKey();
+            if (event.getValue() != ENTRY_MODIFY)
+                structural.add(path.getParent());
+            if (Files.isDirectory(path)) {
+                // contents of created directory are not reported separately
+                if (event.getValue() == ENTRY_CREATE)
+                    walk(root, path).forEach(c -> add(changed, c));
+            } else if (Files.exists(path)) {
+                add(changed, change(root, path, event.getValue() == ENTRY_CREATE ? FileChange.Type.ADDED : FileChange.Type.MODIFIED));
+            } else if (ChangeProcessor.isDocument(path) || changeProcessor.isProperties(path)) {
+                add(changed, change(root, path, FileChange.Type.DELETED));
+            } else {
+                // removed directory (its documents are known from manifest) or another file
+                List<String> documents = publishManifest.sources(path.toString());
+                for (String document : documents)
+                    add(changed, change(root, Paths.get(document), FileChange.Type.DELETED));
+                if (documents.isEmpty())
+                    add(changed, change(root, path, FileChange.Type.DELETED));
+            }
+        }
+        List<FileChange> changes = new ArrayList<>(changed.values());
+        structural.forEach(d -> libraryIndex.refresh(d.toString()));
+        pairRenames(root, changes);
+
+        log.info("> {} changes in '{}'", changes.size(), root);
+        return changeProcessor.process(root, changes,
+            c -> libraryIndex.indexedHeader(root.resolve(c.path()).toString()).map(DocumentHeader::title));
+    }
+
+    // removed document is paired with created one having the same title
+    private void pairRenames(Path root, List<FileChange> changes) {
+        Map<String, FileChange> removed = new HashMap<>();
+        for (FileChange change : changes) {
+            if (change.type() == FileChange.Type.DELETED && ChangeProcessor.isDocument(Paths.get(change.path())))
+                libraryIndex.indexedHeader(root.resolve(change.path()).toString())
+                    .ifPresent(h -> removed.put(h.title(), change));
+        }
+        if (removed.isEmpty())
+            return;
+        List<FileChange> paired = new ArrayList<>();
+        for (FileChange change : changes) {
+            if (change.type() != FileChange.Type.ADDED || !ChangeProcessor.isDocument(Paths.get(change.path())))
+                continue;
+            Optional<FileChange> pair = libraryIndex.header(root.resolve(change.path()).toString())
+                .map(h -> removed.remove(h.title()));
+            if (pair.isPresent()) {
+                change.type(FileChange.Type.RENAMED).oldPath(pair.get().path());
+                paired.add(pair.get());
+            }
+        }
+        changes.removeAll(paired);
+    }
+
+    private static List<FileChange> walk(Path root, Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .map(p -> change(root, p, FileChange.Type.ADDED))
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn("could not read directory '{}': {}", directory, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static void add(Map<String, FileChange> changed, FileChange change) {
+        changed.put(change.path(), change);
+    }
+
+    private static FileChange change(Path root, Path path, FileChange.Type type) {
+        return new FileChange().type(type).path(root.relativize(path).toString());
+    }
+
+}
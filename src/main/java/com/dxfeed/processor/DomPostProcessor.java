@@ -0,0 +1,12 @@
+package com.dxfeed.processor;
+
+import org.jsoup.nodes.Document;
+
+/**
+ * rewrite rule applied by {@link HtmlPostProcessor} to already parsed (shared) HTML document
+ */
+public interface DomPostProcessor {
+
+    void process(Document document);
+
+}
@@ -0,0 +1,41 @@
+package com.dxfeed.processor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.extension.Postprocessor;
+import org.jsoup.Jsoup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * single-pass HTML postprocessor: parses converted document once, applies all registered
+ * {@link DomPostProcessor} rules (in registration order) to the same DOM and serializes it once
+ */
+@Slf4j
+public class HtmlPostProcessor extends Postprocessor {
+
+    private final List<DomPostProcessor> processors;
+
+    public HtmlPostProcessor(DomPostProcessor... processors) {
+        this.processors = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(processors)));
+    }
+
+    public List<DomPostProcessor> processors() {
+        return processors;
+    }
+
+    @Override
+    public String process(Document document, String convertedDocument) {
+        final org.jsoup.nodes.Document doc = Jsoup.parse(convertedDocument);
+        org.jsoup.nodes.Document.OutputSettings settings = new org.jsoup.nodes.Document.OutputSettings();
+        settings.prettyPrint(false);
+        settings.syntax(org.jsoup.nodes.Document.OutputSettings.Syntax.xml);
+        doc.outputSettings(settings);
+        processors.forEach(p -> p.process(doc));
+        return doc.body().toString();
+    }
+
+}
@@ -1,20 +1,12 @@
 package com.dxfeed.processor;
 
-import org.asciidoctor.ast.Document;
-import org.asciidoctor.extension.Postprocessor;
-import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
-public class ImageBlockPostProcessor extends Postprocessor {
+public class ImageBlockPostProcessor implements DomPostProcessor {
 
     @Override
-    public String process(Document document, String convertedDocument) {
-        final org.jsoup.nodes.Document doc = Jsoup.parse(convertedDocument);
-
-        org.jsoup.nodes.Document.OutputSettings settings = new org.jsoup.nodes.Document.OutputSettings();
-        settings.prettyPrint(false);
-        settings.syntax(org.jsoup.nodes.Document.OutputSettings.Syntax.xml);
-        doc.outputSettings(settings);
+    public void process(Document doc) {
 
         // process center-aligned images
         doc.select("div.imageblock.text-center").stream().forEach(element -> {
@@ -36,8 +28,6 @@ public class ImageBlockPostProcessor extends Postprocessor {
             Element content = element.selectFirst("div.content");
             content.addClass("wysiwyg-text-align-right");
         });
-
-        return doc.body().toString();
     }
 
 }
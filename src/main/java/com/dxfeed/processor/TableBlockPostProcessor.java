@@ -1,26 +1,18 @@
 package com.dxfeed.processor;
 
 import lombok.extern.slf4j.Slf4j;
-import org.asciidoctor.ast.Document;
-import org.asciidoctor.extension.Postprocessor;
-import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 
 @Slf4j
-public class TableBlockPostProcessor extends Postprocessor {
+public class TableBlockPostProcessor implements DomPostProcessor {
 
     @Override
-    public String process(Document document, String convertedDocument) {
-        final org.jsoup.nodes.Document doc = Jsoup.parse(convertedDocument);
-        org.jsoup.nodes.Document.OutputSettings settings = new org.jsoup.nodes.Document.OutputSettings();
-        settings.prettyPrint(false);
-        settings.syntax(org.jsoup.nodes.Document.OutputSettings.Syntax.xml);
-        doc.outputSettings(settings);
+    public void process(Document doc) {
         doc.select("table").stream().forEach(element -> {
             String classAttribute = element.attributes().get("class");
             if (!classAttribute.contains("frame-none") && !classAttribute.contains("grid-none"))
                 element.attributes().put("class", classAttribute + " table");
         });
-        return doc.body().toString();
     }
 
 }
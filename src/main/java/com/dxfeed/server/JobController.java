@@ -0,0 +1,58 @@
+package com.dxfeed.server;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * server mode HTTP endpoint:
+ *
+ *   POST /jobs?type={tree|subtree|file|plan}[&path=<path relative to library root>][&refresh=true] - queue publish job
+ *   GET  /jobs                                                                                    - list of jobs
+ *   GET  /jobs/{id}                                                                               - job status and progress
+ *
+ */
+@Slf4j
+@RestController
+@RequestMapping("/jobs")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class JobController {
+
+    private final @NonNull JobQueue jobQueue;
+
+    @PostMapping
+    public ResponseEntity<?> submit(
+        @RequestParam(value = "type", defaultValue = "tree") String type,
+        @RequestParam(value = "path", required = false) String path,
+        @RequestParam(value = "refresh", defaultValue = "false") boolean refresh)
+    {
+        try {
+            PublishJob job = jobQueue.submit(PublishJob.Type.valueOf(type.toUpperCase(Locale.ROOT)), path, refresh);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            log.warn("publish job rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public List<PublishJob> list() {
+        return jobQueue.list();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PublishJob> get(@PathVariable("id") long id) {
+        return jobQueue.get(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.dxfeed.server;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.dxfeed.model.FileChange;
+import com.dxfeed.model.ProcessingResult;
+import com.dxfeed.model.SyncPlan;
+import com.dxfeed.parser.ChangeProcessor;
+import com.dxfeed.parser.ConversionCache;
+import com.dxfeed.parser.DirectoryProcessor;
+import com.dxfeed.parser.LibraryIndex;
+import com.dxfeed.parser.PublishPipeline;
+import com.dxfeed.parser.SyncPlanner;
+import com.dxfeed.tools.FileTools;
+import com.dxfeed.zendesk.PublishManifest;
+import com.dxfeed.zendesk.ReconciliationRegistry;
+import com.dxfeed.zendesk.ZendeskFacade;
+import com.dxfeed.zendesk.ZendeskHierarchy;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.dxfeed.model.ProcessingResult.ResultType.*;
+
+/**
+ * server mode job queue: jobs are run one at a time on a single worker thread, so that they share warm asciidoctor
+ * instances, HTTP connections and help center index, but never publish the same library concurrently;
+ * a job equal to the one still waiting in queue is not queued again
+ *
+ * configuration:
+ *
+ *   server.job-history - number of finished jobs kept for status queries
+ *
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class JobQueue {
+
+    @Value("${server.job-history:100}")
+    private int history;
+
+    private final @NonNull FileTools fileTools;
+    private final @NonNull DirectoryProcessor directoryProcessor;
+    private final @NonNull ChangeProcessor changeProcessor;
+    private final @NonNull SyncPlanner syncPlanner;
+    private final @NonNull PublishPipeline publishPipeline;
+    private final @NonNull PublishManifest publishManifest;
+    private final @NonNull LibraryIndex libraryIndex;
+    private final @NonNull ConversionCache conversionCache;
+    private final @NonNull ZendeskFacade zendeskFacade;
+    private final @NonNull ReconciliationRegistry reconciliationRegistry;
+
+    private final Map<Long, PublishJob> jobs     = new LinkedHashMap<>();
+    private final AtomicLong            counter  = new AtomicLong(0);
+    private final ExecutorService       executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "a2z-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long progressBase = 0; // pipeline counter at the start of running job
+
+    @PreDestroy
+    private void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * queue new job (or return equal job waiting in queue)
+     *
+     * @param type
+     * @param path path relative to library root (subtree and file jobs only)
+     * @param refresh reload help center index before running
+     * @return queued job
+     * @throws IllegalArgumentException if path is not a directory (file) of the library
+     */
+    public synchronized PublishJob submit(PublishJob.Type type, String path, boolean refresh) {
+        String relativePath = (type == PublishJob.Type.SUBTREE || type == PublishJob.Type.FILE) ? validate(type, path) : null;
+        Optional<PublishJob> queued = jobs.values().stream()
+            .filter(j -> j.getState() == PublishJob.State.QUEUED && j.isSameAs(type, relativePath))
+            .findFirst();
+        if (queued.isPresent()) {
+            queued.get().setRefresh(queued.get().isRefresh() || refresh);
+            return queued.get();
+        }
+
+        PublishJob job = new PublishJob();
+        job.setId(counter.incrementAndGet());
+        job.setType(type);
+        job.setPath(relativePath);
+        job.setRefresh(refresh);
+        job.setSubmitted(Instant.now().toString());
+        jobs.put(job.getId(), job);
+        trim();
+        executor.execute(() -> run(job));
+        log.info("job #{} {} {} queued", job.getId(), type, StringUtils.defaultString(relativePath));
+        return job;
+    }
+
+    public synchronized Optional<PublishJob> get(long id) {
+        return Optional.ofNullable(jobs.get(id)).map(this::progress);
+    }
+
+    public synchronized List<PublishJob> list() {
+        return jobs.values().stream().map(this::progress).collect(Collectors.toList());
+    }
+
+    private PublishJob progress(PublishJob job) {
+        if (job.getState() == PublishJob.State.RUNNING) {
+            job.setDocuments(publishPipeline.processed() - progressBase);
+            job.setConcurrency(zendeskFacade.concurrencyLimit());
+        }
+        return job;
+    }
+
+    // oldest finished jobs are dropped
+    private void trim() {
+        Iterator<PublishJob> iterator = jobs.values().iterator();
+        int excess = jobs.size() - Math.max(1, history);
+        while (excess > 0 && iterator.hasNext()) {
+            PublishJob job = iterator.next();
+            if (job.getState() == PublishJob.State.DONE || job.getState() == PublishJob.State.FAILED) {
+                iterator.remove();
+                excess--;
+            }
+        }
+    }
+
+    private String validate(PublishJob.Type type, String path) {
+        Path root = fileTools.libraryRoot().orElseThrow(() -> new IllegalArgumentException("library directory is not set"));
+        if (StringUtils.isBlank(path))
+            throw new IllegalArgumentException("path is not set");
+        Path target = root.resolve(path).normalize();
+        if (!target.startsWith(root))
+            throw new IllegalArgumentException("path '" + path + "' is outside of library");
+        if (type == PublishJob.Type.SUBTREE && !Files.isDirectory(target))
+            throw new IllegalArgumentException("directory '" + path + "' does not exist");
+        if (type == PublishJob.Type.FILE && (!Files.isRegularFile(target) || !ChangeProcessor.isDocument(target)))
+            throw new IllegalArgumentException("document '" + path + "' does not exist");
+        return root.relativize(target).toString();
+    }
+
+    private void run(PublishJob job) {
+        synchronized (this) {
+            progressBase = publishPipeline.processed();
+            job.setState(PublishJob.State.RUNNING);
+            job.setStarted(Instant.now().toString());
+        }
+        log.info("job #{} started", job.getId());
+        ProcessingResult result = new ProcessingResult();
+        String message = null;
+        boolean failed = false;
+        try {
+            Path root = fileTools.libraryRoot().orElseThrow(() -> new IllegalStateException("library directory is not set"));
+            if (job.isRefresh())
+                zendeskFacade.invalidateIndex();
+            reconciliationRegistry.clear();
+            switch (job.getType()) {
+                case TREE:
+                    libraryIndex.refresh(root.toString());
+                    result = directoryProcessor.process(root.toString(), new ZendeskHierarchy());
+                    break;
+                case SUBTREE:
+                    libraryIndex.refresh(root.resolve(job.getPath()).toString());
+                    result = changeProcessor.process(root, changes(root, root.resolve(job.getPath())), c -> Optional.empty());
+                    break;
+                case FILE:
+                    result = changeProcessor.process(root, changes(root, root.resolve(job.getPath())), c -> Optional.empty());
+                    break;
+                case PLAN:
+                    libraryIndex.refresh(root.toString());
+                    Optional<SyncPlan> plan = syncPlanner.plan(root.toString());
+                    if (plan.isPresent()) {
+                        result = plan.get().result();
+                        message = plan.get().format();
+                    } else {
+                        failed = true;
+                        message = "could not build synchronization plan";
+                    }
+                    break;
+            }
+            publishManifest.save();
+            libraryIndex.save();
+            conversionCache.save();
+            failed |= 0 != result.get(RT_PUB_FAILURE).get() || 0 != result.get(RT_DEL_FAILURE).get();
+        } catch (Exception e) {
+            log.warn("job #{} failed: {}", job.getId(), e.getMessage());
+            if (log.isTraceEnabled())
+                e.printStackTrace();
+            failed = true;
+            message = e.getMessage();
+        }
+
+        synchronized (this) {
+            progress(job);
+            Map<String, Integer> results = new TreeMap<>();
+            result.results().forEach((type, count) -> results.put(type.name(), count.get()));
+            job.setResults(results);
+            job.setMessage(message);
+            job.setFinished(Instant.now().toString());
+            job.setState(failed ? PublishJob.State.FAILED : PublishJob.State.DONE);
+        }
+        log.info("job #{} {}", job.getId(), job.getState());
+    }
+
+    // every file of a subtree (or a single file) is republished as modified, so that its hierarchy is reconciled
+    private static List<FileChange> changes(Path root, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(target)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .map(p -> new FileChange().type(FileChange.Type.MODIFIED).path(root.relativize(p).toString()))
+                .collect(Collectors.toList());
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.dxfeed.server;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * publish job of server mode (serialized as is into HTTP responses)
+ */
+@Getter
+@Setter
+public class PublishJob {
+
+    public enum Type  { TREE, SUBTREE, FILE, PLAN }
+    public enum State { QUEUED, RUNNING, DONE, FAILED }
+
+    private long                 id;
+    private Type                 type;
+    private String               path;        // relative to library root (subtree and file jobs)
+    private boolean              refresh;     // reload help center index before running
+    private State                state     = State.QUEUED;
+    private String               submitted;
+    private String               started;
+    private String               finished;
+    private long                 documents;   // documents processed so far
+    private int                  concurrency; // adaptive limit of zendesk API requests in flight
+    private Map<String, Integer> results   = new TreeMap<>();
+    private String               message;     // synchronization plan or error
+
+    boolean isSameAs(Type type, String path) {
+        return this.type == type && (null == this.path ? null == path : this.path.equals(path));
+    }
+}
@@ -3,6 +3,7 @@ package com.dxfeed.tools;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import com.dxfeed.config.AppConfig;
@@ -11,6 +12,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
 import java.util.Properties;
 
 @Slf4j
@@ -33,4 +37,22 @@ public class FileTools {
         return properties;
     }
 
+    /**
+     * library root directory: input directory or, for a single file run, directory two levels above file's one
+     * ({@code <root>/<category>/<section>/<file>})
+     *
+     * @return library root or empty if neither input directory nor file is set
+     */
+    public Optional<Path> libraryRoot() {
+        if (StringUtils.isNotBlank(appConfig.dir()))
+            return Optional.of(Paths.get(appConfig.dir()).toAbsolutePath().normalize());
+        if (StringUtils.isNotBlank(appConfig.file())) {
+            Path root = Paths.get(appConfig.file()).toAbsolutePath().normalize().getParent();
+            for (int i = 0; i < 2 && null != root && null != root.getParent(); i++)
+                root = root.getParent();
+            return Optional.ofNullable(root);
+        }
+        return Optional.empty();
+    }
+
 }
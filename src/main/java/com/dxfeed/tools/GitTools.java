@@ -0,0 +1,141 @@
+package com.dxfeed.tools;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.dxfeed.model.FileChange;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * local git repository access (with git command line client, no network operations are performed)
+ */
+@Slf4j
+@Component
+public class GitTools {
+
+    @Value("${git.executable:git}")
+    private String executable;
+
+    @Value("${git.timeout:60}")
+    private long timeoutSeconds;
+
+    /**
+     * @param directory
+     * @return commit id of HEAD of repository given directory belongs to
+     */
+    public Optional<String> head(File directory) {
+        return run(directory, "rev-parse", "--verify", "HEAD^{commit}").map(GitTools::text);
+    }
+
+    /**
+     * @param directory
+     * @param commit
+     * @return true if given commit exists in repository (it could be missing in shallow clones)
+     */
+    public boolean exists(File directory, String commit) {
+        return run(directory, "cat-file", "-e", commit + "^{commit}").isPresent();
+    }
+
+    /**
+     * changes between two commits within given directory, renames are detected by git
+     *
+     * @param directory
+     * @param from
+     * @param to
+     * @return changes (with paths relative to given directory) or empty if diff could not be taken
+     */
+    public Optional<List<FileChange>> diff(File directory, String from, String to) {
+        return run(directory, "diff", "--name-status", "-M", "-z", "--relative", from, to)
+            .map(GitTools::parseNameStatus);
+    }
+
+    /**
+     * @param directory
+     * @param commit
+     * @param path path relative to given directory
+     * @return file contents at given commit
+     */
+    public Optional<String> show(File directory, String commit, String path) {
+        return run(directory, "show", commit + ":./" + path.replace(File.separatorChar, '/'))
+            .map(b -> new String(b, StandardCharsets.UTF_8));
+    }
+
+    // -z output: "<status>\0<path>\0" or "R<score>\0<old path>\0<new path>\0"
+    private static List<FileChange> parseNameStatus(byte[] output) {
+        List<FileChange> changes = new ArrayList<>();
+        List<String> fields = Arrays.asList(new String(output, StandardCharsets.UTF_8).split("\0"));
+        for (int i = 0; i + 1 < fields.size(); ) {
+            String status = fields.get(i++).trim();
+            if (status.isEmpty())
+                continue;
+            FileChange change = new FileChange();
+            switch (status.charAt(0)) {
+                case 'A':
+                case 'C':
+                    change.type(FileChange.Type.ADDED);
+                    break;
+                case 'D':
+                    change.type(FileChange.Type.DELETED);
+                    break;
+                case 'R':
+                    change.type(FileChange.Type.RENAMED).oldPath(fields.get(i++));
+                    break;
+                default:
+                    change.type(FileChange.Type.MODIFIED);
+            }
+            if (i < fields.size())
+                changes.add(change.path(fields.get(i++)));
+        }
+        return changes;
+    }
+
+    private static String text(byte[] output) {
+        return new String(output, StandardCharsets.UTF_8).trim();
+    }
+
+    private Optional<byte[]> run(File directory, String... args) {
+        List<String> command = new ArrayList<>();
+        command.add(executable);
+        command.addAll(Arrays.asList(args));
+        try {
+            Process process = new ProcessBuilder(command)
+                .directory(directory)
+                .redirectError(ProcessBuilder.Redirect.PIPE)
+                .start();
+            process.getOutputStream().close();
+            byte[] output;
+            try (InputStream input = process.getInputStream()) {
+                output = IOUtils.toByteArray(input);
+            }
+            if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                log.warn("git command timed out: {}", command);
+                return Optional.empty();
+            }
+            if (0 != process.exitValue()) {
+                try (InputStream error = process.getErrorStream()) {
+                    log.trace("git command {} failed: {}", command, IOUtils.toString(error, StandardCharsets.UTF_8).trim());
+                }
+                return Optional.empty();
+            }
+            return Optional.of(output);
+        } catch (IOException e) {
+            log.warn("could not run git command {}: {}", command, e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.dxfeed.zendesk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * executor of blocking zendesk API calls (article publication, stale article removal, etc.)
+ *
+ * when virtual threads are enabled (and supported by JDK) every task gets its own virtual thread, otherwise tasks
+ * run on a bounded pool of platform threads; either way number of tasks in flight is limited by a gate which never
+ * lets more tasks in than account rate limit allows per minute, so that hundreds of requests could wait for
+ * the rate limiter without holding hundreds of OS threads
+ *
+ * configuration:
+ *
+ *   zendesk.virtual-threads - run API tasks on virtual threads (JDK 21+)
+ *   zendesk.max-in-flight   - maximum number of API tasks in flight with virtual threads
+ *   zendesk.publish-threads - number of platform threads (and API tasks in flight) otherwise
+ *
+ */
+@Slf4j
+@Component
+public class ApiExecutor implements Executor {
+
+    @Value("${zendesk.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${zendesk.max-in-flight:256}")
+    private int maxInFlight;
+
+    @Value("${zendesk.publish-threads:4}")
+    private int publishThreads;
+
+    private ExecutorService executor    = null;
+    private boolean         virtual     = false;
+    private int             parallelism = 1;
+
+    private final ReentrantLock lock      = new ReentrantLock(); // monitors would pin virtual threads
+    private final Condition     available = lock.newCondition();
+    private int                 inFlight  = 0;
+    private volatile LongSupplier rateLimit = () -> 0;
+
+    @PostConstruct
+    private void init() {
+        Optional<ExecutorService> virtualExecutor = virtualThreads ? virtualExecutor("a2z-api-") : Optional.empty();
+        if (virtualThreads && !virtualExecutor.isPresent())
+            log.warn("virtual threads are not supported by JDK {}, using platform threads", System.getProperty("java.version"));
+        virtual     = virtualExecutor.isPresent();
+        parallelism = Math.max(1, virtual ? maxInFlight : publishThreads);
+        executor    = virtualExecutor.orElseGet(() -> {
+            AtomicInteger counter = new AtomicInteger(0);
+            return Executors.newFixedThreadPool(parallelism, r -> {
+                Thread thread = new Thread(r, "a2z-api-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        });
+        log.info("zendesk API tasks run on {} threads, at most {} in flight", virtual ? "virtual" : "platform", parallelism);
+    }
+
+    @PreDestroy
+    private void close() {
+        executor.shutdownNow();
+    }
+
+    // Thread.ofVirtual().name(prefix, 1).factory() and Executors.newThreadPerTaskExecutor(factory) of JDK 21
+    private static Optional<ExecutorService> virtualExecutor(String prefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            Object factory = builderClass.getMethod("factory").invoke(builder);
+            Method newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return Optional.of((ExecutorService) newExecutor.invoke(null, factory));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.trace("virtual threads are not available: {}", e.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * set source of account rate limit (requests per minute, 0 if not known), number of tasks in flight never
+     * exceeds it
+     */
+    void rateLimit(LongSupplier rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * @return maximum number of tasks in flight
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    public boolean virtual() {
+        return virtual;
+    }
+
+    /**
+     * run given task once it is let in by the gate
+     */
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(() -> {
+            acquire(); // task is always run, so that futures of async stages get completed
+            try {
+                task.run();
+            } finally {
+                release();
+            }
+        });
+    }
+
+    /**
+     * run given request of a task already in flight alongside the calling thread: on virtual threads it is run
+     * on a new one (not counted by the gate, so that a task never waits for itself), otherwise - on calling thread
+     *
+     * @param request
+     * @return future completed with request result
+     */
+    public <T> CompletableFuture<T> fork(Supplier<T> request) {
+        if (virtual)
+            return CompletableFuture.supplyAsync(request, executor);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            result.complete(request.get());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * wait for forked request, rethrowing its own exception (so that zendesk exceptions are handled as usual)
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    private int limit() {
+        long perMinute = rateLimit.getAsLong();
+        return perMinute > 0 ? (int) Math.max(1, Math.min(parallelism, perMinute)) : parallelism;
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            while (inFlight >= limit())
+                available.awaitUninterruptibly();
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.dxfeed.zendesk;
+
+import org.zendesk.client.v2.model.hc.Article;
+import org.zendesk.client.v2.model.hc.Category;
+import org.zendesk.client.v2.model.hc.Section;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * in-memory index of help center contents (categories, sections and articles)
+ *
+ * index is built with one paged sweep of each entity type and then kept coherent with changes
+ * made during the run; lookups by name / title are case-insensitive (as zendesk titles are)
+ *
+ */
+public class HelpCenterIndex {
+
+    private final Map<Long, Category> categories = new LinkedHashMap<>();
+    private final Map<Long, Section>  sections   = new LinkedHashMap<>();
+    private final Map<Long, Article>  articles   = new LinkedHashMap<>();
+
+    private final Map<String, Long> categoryByName          = new HashMap<>();
+    private final Map<String, Long> sectionByName           = new HashMap<>();
+    private final Map<String, Long> sectionByCategoryName   = new HashMap<>();
+    private final Map<String, Long> articleByTitle          = new HashMap<>();
+    private final Map<String, Long> articleBySectionTitle   = new HashMap<>();
+
+    public HelpCenterIndex(Collection<Category> categories, Collection<Section> sections, Collection<Article> articles) {
+        categories.forEach(this::put);
+        sections.forEach(this::put);
+        articles.forEach(this::put);
+    }
+
+    // ---- lookups -------------------------------------------------------------------------------------------------
+
+    public synchronized List<Category> categories() {
+        return new ArrayList<>(categories.values());
+    }
+    public synchronized List<Section> sections() {
+        return new ArrayList<>(sections.values());
+    }
+    public synchronized List<Section> sections(Category category) {
+        return sections.values().stream()
+            .filter(s -> Objects.equals(s.getCategoryId(), category.getId()))
+            .collect(Collectors.toList());
+    }
+    public synchronized List<Article> articles() {
+        return new ArrayList<>(articles.values());
+    }
+    public synchronized List<Article> articles(Section section) {
+        return articles.values().stream()
+            .filter(a -> Objects.equals(a.getSectionId(), section.getId()))
+            .collect(Collectors.toList());
+    }
+
+    public synchronized Optional<Category> category(String name) {
+        return lookup(categories, categoryByName, key(name));
+    }
+    public synchronized Optional<Section> section(String name) {
+        return lookup(sections, sectionByName, key(name));
+    }
+    public synchronized Optional<Section> section(Category category, String name) {
+        return lookup(sections, sectionByCategoryName, key(category.getId(), name));
+    }
+    public synchronized Optional<Article> article(Long id) {
+        return Optional.ofNullable(null == id ? null : articles.get(id));
+    }
+    public synchronized Optional<Article> article(String title) {
+        return lookup(articles, articleByTitle, key(title));
+    }
+    public synchronized Optional<Article> article(Section section, String title) {
+        return lookup(articles, articleBySectionTitle, key(section.getId(), title));
+    }
+
+    private static <T> Optional<T> lookup(Map<Long, T> values, Map<String, Long> keys, String key) {
+        Long id = keys.get(key);
+        return null == id ? Optional.empty() : Optional.ofNullable(values.get(id));
+    }
+
+    // ---- modifications -------------------------------------------------------------------------------------------
+
+    public synchronized void put(Category category) {
+        if (null == category || null == category.getId())
+            return;
+        remove(category);
+        categories.put(category.getId(), category);
+        categoryByName.putIfAbsent(key(category.getName()), category.getId());
+    }
+    public synchronized void put(Section section) {
+        if (null == section || null == section.getId())
+            return;
+        remove(section);
+        sections.put(section.getId(), section);
+        sectionByName.putIfAbsent(key(section.getName()), section.getId());
+        sectionByCategoryName.putIfAbsent(key(section.getCategoryId(), section.getName()), section.getId());
+    }
+    public synchronized void put(Article article) {
+        if (null == article || null == article.getId())
+            return;
+        remove(article);
+        articles.put(article.getId(), article);
+        articleByTitle.putIfAbsent(key(article.getTitle()), article.getId());
+        articleBySectionTitle.putIfAbsent(key(article.getSectionId(), article.getTitle()), article.getId());
+    }
+
+    public synchronized void remove(Category category) {
+        Category previous = categories.remove(category.getId());
+        if (null != previous)
+            unlink(categoryByName, key(previous.getName()), previous.getId(), categories, c -> key(c.getName()));
+    }
+    public synchronized void remove(Section section) {
+        Section previous = sections.remove(section.getId());
+        if (null != previous) {
+            unlink(sectionByName, key(previous.getName()), previous.getId(), sections, s -> key(s.getName()));
+            unlink(sectionByCategoryName, key(previous.getCategoryId(), previous.getName()), previous.getId(),
+                sections, s -> key(s.getCategoryId(), s.getName()));
+        }
+    }
+    public synchronized void remove(Article article) {
+        Article previous = articles.remove(article.getId());
+        if (null != previous) {
+            unlink(articleByTitle, key(previous.getTitle()), previous.getId(), articles, a -> key(a.getTitle()));
+            unlink(articleBySectionTitle, key(previous.getSectionId(), previous.getTitle()), previous.getId(),
+                articles, a -> key(a.getSectionId(), a.getTitle()));
+        }
+    }
+
+    // drop name key pointing to removed entity, re-pointing it to another entity with the same name (if any)
+    private static <T> void unlink(Map<String, Long> keys, String key, Long id, Map<Long, T> values, Function<T, String> keyFunction) {
+        if (!Objects.equals(keys.get(key), id))
+            return;
+        keys.remove(key);
+        values.entrySet().stream()
+            .filter(e -> key.equals(keyFunction.apply(e.getValue())))
+            .findFirst()
+            .ifPresent(e -> keys.put(key, e.getKey()));
+    }
+
+    private static String key(String name) {
+        return null == name ? "" : name.toLowerCase(Locale.ROOT);
+    }
+    private static String key(Long parentId, String name) {
+        return parentId + "/" + key(name);
+    }
+
+}
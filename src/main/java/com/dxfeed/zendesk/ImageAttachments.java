@@ -0,0 +1,224 @@
+package com.dxfeed.zendesk;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang.StringEscapeUtils;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.zendesk.client.v2.model.hc.Article;
+import org.zendesk.client.v2.model.hc.ArticleAttachments;
+import com.dxfeed.model.Document;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * publishes local images of converted documents as inline article attachments
+ *
+ * relative image sources are replaced with names derived from image contents ('a2z-' + hash + extension) right after
+ * conversion, so that article fingerprint changes with images; once article exists, attachments it does not have yet
+ * are uploaded (all at once) and names are replaced with attachment URLs, so that unchanged images are never uploaded
+ * again and article body stays the same while images do
+ *
+ * configuration:
+ *
+ *   zendesk.image-attachments - publish local images as article attachments
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ImageAttachments {
+
+    private static final String  NAME_PREFIX  = "a2z-";
+    private static final int     HASH_LENGTH  = 16;
+    private static final Pattern IMAGE_SOURCE = Pattern.compile("(<img\\b[^>]*?\\bsrc=\")([^\"]*)(\")");
+    private static final Pattern IMAGE_NAME   = Pattern.compile(NAME_PREFIX + "[0-9a-f]{" + HASH_LENGTH + "}\\.[A-Za-z0-9]+");
+    private static final Pattern ATTACHMENT   = Pattern.compile("[^\"]*/(" + IMAGE_NAME.pattern() + ")");
+    private static final Pattern EXTERNAL     = Pattern.compile("^([A-Za-z][A-Za-z0-9+.-]*:|//|#).*");
+
+    private final @NonNull ZendeskFacade zendeskFacade;
+    private final @NonNull ZendeskTools zendeskTools;
+
+    @Value("${zendesk.image-attachments:true}")
+    private boolean enabled;
+
+    // image files by name (the same name means the same contents), and names of files by path, size and modification time
+    private final ConcurrentMap<String, File>   files = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * replace sources of local images (relative to document directory) with names derived from their contents
+     *
+     * @param document
+     * @param contents converted document
+     * @return converted document with image names (the same one if there are no local images)
+     */
+    public String localImages(Document document, String contents) {
+        if (!enabled || StringUtils.isBlank(contents))
+            return contents;
+        File directory = new File(document.inputFilename()).getAbsoluteFile().getParentFile();
+        return replaceSources(contents, source -> {
+            String path = StringEscapeUtils.unescapeHtml(source);
+            if (EXTERNAL.matcher(path).matches() || IMAGE_NAME.matcher(path).matches())
+                return source;
+            File file = new File(path).isAbsolute() ? new File(path) : new File(directory, path);
+            if (!file.isFile()) {
+                log.warn("image '{}' of document '{}' not found", source, document.inputFilename());
+                return source;
+            }
+            return name(file).orElse(source);
+        });
+    }
+
+    /**
+     * make sure given article has images named in given converted document as attachments, uploading missing ones
+     *
+     * @param article existing article
+     * @param contents converted document with image names (see {@link #localImages})
+     * @return converted document with attachment URLs or empty if some images could not be attached (so that article
+     *         is not published with broken images and considered up to date)
+     */
+    public Optional<String> attach(Article article, String contents) {
+        Set<String> required = images(contents);
+        if (required.isEmpty() || null == article.getId())
+            return Optional.ofNullable(contents);
+
+        Map<String, String> urls = new HashMap<>();
+        Optional<List<ArticleAttachments>> existing = zendeskFacade.getArticleAttachments(article);
+        if (!existing.isPresent()) {
+            log.warn("could not list attachments of article '{}', images are not published", article.getTitle());
+            return Optional.empty();
+        }
+        existing.get().stream()
+            .filter(a -> required.contains(a.getFileName()) && StringUtils.isNotBlank(a.getContentUrl()))
+            .forEach(a -> urls.putIfAbsent(a.getFileName(), a.getContentUrl()));
+
+        Map<String, File> missing = new LinkedHashMap<>();
+        for (String name : required) {
+            File file = files.get(name);
+            if (!urls.containsKey(name) && null != file)
+                missing.put(name, file);
+        }
+        if (!missing.isEmpty()) {
+            log.info("uploading {} images of article '{}' ({} attached already)", missing.size(), article.getTitle(), urls.size());
+            zendeskFacade.uploadArticleAttachments(article, missing).forEach((name, attachment) -> {
+                if (StringUtils.isNotBlank(attachment.getContentUrl()))
+                    urls.put(name, attachment.getContentUrl());
+            });
+        }
+        if (urls.size() < required.size()) {
+            log.warn("could not attach {} of {} images of article '{}'", required.size() - urls.size(), required.size(), article.getTitle());
+            return Optional.empty();
+        }
+        return Optional.of(replaceSources(contents, source -> urls.getOrDefault(source, source)));
+    }
+
+    /**
+     * @param contents converted document with image names (see {@link #localImages})
+     * @param fingerprint
+     * @return fingerprint to create article with: none if it has images to be attached, so that article is not
+     *         considered published until they are (see {@link #attachCreated})
+     */
+    public String createdFingerprint(String contents, String fingerprint) {
+        return hasImages(contents) ? null : fingerprint;
+    }
+
+    /**
+     * @param contents converted document with image names (see {@link #localImages})
+     * @return true if document has images to be attached
+     */
+    public boolean hasImages(String contents) {
+        return !images(contents).isEmpty();
+    }
+
+    /**
+     * attach images of a just created article (it is created with image names and without fingerprint, as there are
+     * no attachments without article) and update its body with attachment URLs and fingerprint
+     *
+     * @param created created article
+     * @param document
+     * @param contents converted document with image names (see {@link #localImages})
+     * @param fingerprint
+     * @return updated article (the same one if there are no images) or empty if it could not be updated
+     */
+    public Optional<Article> attachCreated(Article created, Document document, String contents, String fingerprint) {
+        if (!hasImages(contents))
+            return Optional.of(created);
+        return attach(created, contents)
+            .flatMap(attached -> zendeskTools.updateArticle(created, document, attached, fingerprint))
+            .flatMap(a -> zendeskFacade.updateArticle(created, a));
+    }
+
+    /**
+     * @param contents article body
+     * @return article body with URLs of image attachments replaced with image names (to be compared with converted
+     *         document with image names)
+     */
+    public String detach(String contents) {
+        if (StringUtils.isBlank(contents))
+            return contents;
+        return replaceSources(contents, source -> {
+            Matcher attachment = ATTACHMENT.matcher(source);
+            return attachment.matches() ? attachment.group(1) : source;
+        });
+    }
+
+    private static Set<String> images(String contents) {
+        Set<String> images = new LinkedHashSet<>();
+        if (StringUtils.isNotBlank(contents)) {
+            replaceSources(contents, source -> {
+                if (IMAGE_NAME.matcher(source).matches())
+                    images.add(source);
+                return source;
+            });
+        }
+        return images;
+    }
+
+    private static String replaceSources(String contents, UnaryOperator<String> replacement) {
+        Matcher matcher = IMAGE_SOURCE.matcher(contents);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            String source = replacement.apply(matcher.group(2));
+            matcher.appendReplacement(result, Matcher.quoteReplacement(matcher.group(1) + source + matcher.group(3)));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    // images are hashed once per contents (the same image is usually referenced by many documents)
+    private Optional<String> name(File file) {
+        String key = file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified();
+        String name = names.get(key);
+        if (null == name) {
+            try (InputStream input = Files.newInputStream(file.toPath())) {
+                String extension = FilenameUtils.getExtension(file.getName()).toLowerCase(Locale.ROOT);
+                name = NAME_PREFIX + DigestUtils.sha256Hex(input).substring(0, HASH_LENGTH)
+                    + (StringUtils.isAlphanumeric(extension) && !extension.isEmpty() ? "." + extension : ".bin");
+            } catch (IOException e) {
+                log.warn("error reading image '{}': {}", file, e.getMessage());
+                if (log.isTraceEnabled())
+                    e.printStackTrace();
+                return Optional.empty();
+            }
+            names.put(key, name);
+        }
+        files.put(name, file);
+        return Optional.of(name);
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.dxfeed.zendesk;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import com.dxfeed.config.AppConfig;
+import com.dxfeed.model.Document;
+import com.dxfeed.tools.FileTools;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * local publish manifest: maps source files to published articles along with fingerprint of data sent to zendesk,
+ * so that unchanged articles could be skipped without any API calls
+ *
+ * manifest location is set with a2z.manifest (--manifest) parameter, by default manifest is stored
+ * in library root directory
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class PublishManifest {
+
+    private static final String DEFAULT_FILE_NAME = ".a2z-manifest.json";
+
+    private final @NonNull AppConfig appConfig;
+    private final @NonNull FileTools fileTools;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ObjectMapper       mapper  = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private Path                     file    = null;
+    private volatile boolean         modified = false;
+
+    @Data
+    @NoArgsConstructor
+    public static class Entry {
+        private Long   articleId;
+        private Long   sectionId;
+        private String fingerprint;
+    }
+
+    @PostConstruct
+    private void init() {
+        file = manifestFile();
+        if (null == file || !Files.exists(file))
+            return;
+        try {
+            Map<String, Entry> loaded = mapper.readValue(file.toFile(), new TypeReference<Map<String, Entry>>() {});
+            entries.putAll(loaded);
+            log.info("publish manifest: {} entries loaded from '{}'", entries.size(), file);
+        } catch (IOException e) {
+            log.warn("could not load publish manifest '{}': {}", file, e.getMessage());
+        }
+    }
+
+    private Path manifestFile() {
+        if (StringUtils.isNotBlank(appConfig.manifest()))
+            return Paths.get(appConfig.manifest()).toAbsolutePath().normalize();
+        return fileTools.libraryRoot().map(root -> root.resolve(DEFAULT_FILE_NAME)).orElse(null);
+    }
+
+    public boolean enabled() {
+        return null != file;
+    }
+
+    /**
+     * calculate fingerprint of article data sent to zendesk
+     *
+     * position is not included, as it is maintained by {@link ReorderPlanner} apart from article contents
+     *
+     * @param document
+     * @param convertedDocument
+     * @param groupId
+     * @return hex-encoded SHA-256 digest
+     */
+    public static String fingerprint(Document document, String convertedDocument, Integer groupId) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        update(digest, document.title());
+        update(digest, String.valueOf(document.draft()));
+        update(digest, String.valueOf(document.promoted()));
+        update(digest, Objects.toString(document.tags(), ""));
+        update(digest, Objects.toString(groupId, ""));
+        update(digest, convertedDocument);
+        return Hex.encodeHexString(digest.digest());
+    }
+    private static void update(MessageDigest digest, String value) {
+        if (null != value)
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    public Optional<Entry> get(String inputFilename) {
+        if (!enabled())
+            return Optional.empty();
+        return Optional.ofNullable(entries.get(key(inputFilename)));
+    }
+
+    /**
+     * check if article for given file was already published with given section and fingerprint
+     */
+    public boolean isPublished(String inputFilename, Long sectionId, String fingerprint) {
+        return get(inputFilename)
+            .filter(e -> Objects.equals(e.getSectionId(), sectionId))
+            .filter(e -> Objects.equals(e.getFingerprint(), fingerprint))
+            .isPresent();
+    }
+
+    /**
+     * check if given article was published from a file which does not exist anymore (e.g. was moved)
+     */
+    public boolean isOrphaned(Long articleId) {
+        return enabled() && entries.entrySet().stream()
+            .filter(e -> Objects.equals(e.getValue().getArticleId(), articleId))
+            .anyMatch(e -> !Files.exists(file.resolveSibling(e.getKey())));
+    }
+
+    public void put(String inputFilename, Long articleId, Long sectionId, String fingerprint) {
+        if (!enabled())
+            return;
+        Entry entry = new Entry();
+        entry.setArticleId(articleId);
+        entry.setSectionId(sectionId);
+        entry.setFingerprint(fingerprint);
+        String key = key(inputFilename);
+        // article could have been published from another (moved) file before
+        entries.entrySet().removeIf(e -> !e.getKey().equals(key) && Objects.equals(e.getValue().getArticleId(), articleId));
+        entries.put(key, entry);
+        modified = true;
+    }
+
+    /**
+     * move entry of renamed (or moved) file, so that its article is updated instead of created anew
+     */
+    public void rename(String oldFilename, String newFilename) {
+        if (!enabled())
+            return;
+        Entry entry = entries.remove(key(oldFilename));
+        if (null != entry) {
+            entries.put(key(newFilename), entry);
+            modified = true;
+        }
+    }
+
+    /**
+     * @return true if given article is recorded as published from some file
+     */
+    public boolean isRecorded(Long articleId) {
+        return enabled() && entries.values().stream().anyMatch(e -> Objects.equals(e.getArticleId(), articleId));
+    }
+
+    /**
+     * @return files within given directory with published articles
+     */
+    public List<String> sources(String directoryPath) {
+        if (!enabled())
+            return Collections.emptyList();
+        String prefix = key(directoryPath) + "/";
+        return entries.keySet().stream()
+            .filter(k -> k.startsWith(prefix))
+            .map(k -> file.resolveSibling(k).normalize().toString())
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    public void remove(String inputFilename) {
+        if (enabled() && null != entries.remove(key(inputFilename)))
+            modified = true;
+    }
+
+    public void removeArticle(Long articleId) {
+        if (entries.values().removeIf(e -> Objects.equals(e.getArticleId(), articleId)))
+            modified = true;
+    }
+
+    public void clear() {
+        if (!entries.isEmpty()) {
+            entries.clear();
+            modified = true;
+        }
+    }
+
+    // manifest keys are paths relative to manifest location (so that it stays valid for different checkouts)
+    private String key(String inputFilename) {
+        Path path = Paths.get(inputFilename).toAbsolutePath().normalize();
+        Path base = file.getParent();
+        String key = (null != base && path.startsWith(base)) ? base.relativize(path).toString() : path.toString();
+        return key.replace(File.separatorChar, '/');
+    }
+
+    @PreDestroy
+    public synchronized void save() {
+        if (!enabled() || !modified)
+            return;
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            mapper.writeValue(tempFile.toFile(), new TreeMap<>(entries));
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            log.warn("could not save publish manifest '{}': {}", file, e.getMessage());
+        }
+    }
+
+}
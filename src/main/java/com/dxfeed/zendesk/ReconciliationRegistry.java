@@ -0,0 +1,82 @@
+package com.dxfeed.zendesk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.zendesk.client.v2.model.hc.Category;
+import org.zendesk.client.v2.model.hc.Section;
+import com.dxfeed.model.HierarchyEntry;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * per-run registry of reconciled categories and sections: each of them is looked up, compared with directory
+ * properties and created / updated at most once per run, directories processed later (or in parallel) get the result
+ * of the first reconciliation; failed reconciliation is not kept, so that another directory could retry it
+ *
+ * run is a single CLI run, a batch of changes in watch mode or a job in server mode (see {@link #clear()})
+ *
+ */
+@Slf4j
+@Component
+public class ReconciliationRegistry {
+
+    private final ConcurrentMap<String, CompletableFuture<Optional<Category>>> categories = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<Optional<Section>>>  sections   = new ConcurrentHashMap<>();
+
+    /**
+     * @param entry category data from directory properties
+     * @param reconcile looks up and creates / updates category
+     * @return reconciled category or empty if reconciliation failed
+     */
+    public Optional<Category> category(HierarchyEntry entry, Supplier<Optional<Category>> reconcile) {
+        return reconcile(categories, key(entry.name()), "category", entry, reconcile);
+    }
+
+    /**
+     * @param category reconciled parent category
+     * @param entry section data from directory properties
+     * @param reconcile looks up and creates / updates section
+     * @return reconciled section or empty if reconciliation failed
+     */
+    public Optional<Section> section(Category category, HierarchyEntry entry, Supplier<Optional<Section>> reconcile) {
+        return reconcile(sections, category.getId() + "/" + key(entry.name()), "section", entry, reconcile);
+    }
+
+    /**
+     * forget reconciled categories and sections (at the start of a new run)
+     */
+    public void clear() {
+        categories.clear();
+        sections.clear();
+    }
+
+    private static <T> Optional<T> reconcile(ConcurrentMap<String, CompletableFuture<Optional<T>>> registry, String key,
+        String entityName, HierarchyEntry entry, Supplier<Optional<T>> reconcile)
+    {
+        CompletableFuture<Optional<T>> reconciliation = new CompletableFuture<>();
+        CompletableFuture<Optional<T>> existing = registry.putIfAbsent(key, reconciliation);
+        if (null != existing) {
+            log.trace("{} '{}' is reconciled already", entityName, entry.name());
+            return existing.join();
+        }
+        Optional<T> result = Optional.empty();
+        try {
+            result = reconcile.get();
+        } finally {
+            if (!result.isPresent())
+                registry.remove(key, reconciliation);
+            reconciliation.complete(result);
+        }
+        return result;
+    }
+
+    private static String key(String name) {
+        return null == name ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.dxfeed.zendesk;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.zendesk.client.v2.model.hc.Article;
+import org.zendesk.client.v2.model.hc.Category;
+import org.zendesk.client.v2.model.hc.Section;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * reorders sibling articles, sections or categories with the minimum number of position-only writes
+ *
+ * only relative order of siblings is kept in sync with library (:ZENDESK-ORDER:, section and category position
+ * properties), not position values themselves: siblings which are already in desired order relative to each other
+ * (the longest subsequence of desired order with increasing current positions) keep their positions, and the others
+ * get positions between them, so that inserting a document at the top of a section moves one article instead of
+ * every following one
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReorderPlanner {
+
+    private final @NonNull ZendeskFacade zendeskFacade;
+    private final @NonNull ApiExecutor apiExecutor;
+
+    @Value("${zendesk.publish}")
+    private boolean performPublication;
+
+    /**
+     * reorder articles of given section, articles not published from library are not touched
+     *
+     * @param section
+     * @param positions desired positions by article title
+     * @return number of articles moved
+     */
+    public int articles(Section section, Map<String, Long> positions) {
+        List<Article> articles = zendeskFacade.getArticles(section).stream()
+            .filter(a -> positions.containsKey(a.getTitle()))
+            .collect(Collectors.toList());
+        return apply("article", plan(articles, Article::getPosition, a -> positions.get(a.getTitle())),
+            Article::getTitle, zendeskFacade::updateArticlePosition);
+    }
+
+    /**
+     * reorder sections of given category, sections not set in library are not touched
+     *
+     * @param category
+     * @param positions desired positions by section name (lower case)
+     * @return number of sections moved
+     */
+    public int sections(Category category, Map<String, Long> positions) {
+        List<Section> sections = zendeskFacade.index()
+            .map(idx -> idx.sections(category))
+            .orElse(Collections.emptyList()).stream()
+            .filter(s -> positions.containsKey(key(s.getName())))
+            .collect(Collectors.toList());
+        return apply("section", plan(sections, Section::getPosition, s -> positions.get(key(s.getName()))),
+            Section::getName, zendeskFacade::updateSectionPosition);
+    }
+
+    /**
+     * reorder categories, categories not set in library are not touched
+     *
+     * @param positions desired positions by category name (lower case)
+     * @return number of categories moved
+     */
+    public int categories(Map<String, Long> positions) {
+        List<Category> categories = zendeskFacade.index()
+            .map(HelpCenterIndex::categories)
+            .orElse(Collections.emptyList()).stream()
+            .filter(c -> positions.containsKey(key(c.getName())))
+            .collect(Collectors.toList());
+        return apply("category", plan(categories, Category::getPosition, c -> positions.get(key(c.getName()))),
+            Category::getName, zendeskFacade::updateCategoryPosition);
+    }
+
+    public static String key(String name) {
+        return null == name ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private interface PositionUpdate<T> {
+        boolean update(T item, long position);
+    }
+
+    // position-only writes are independent of each other, so they are sent concurrently
+    private <T> int apply(String entityName, Map<T, Long> moves, Function<T, String> name, PositionUpdate<T> update) {
+        if (!performPublication) {
+            moves.forEach((item, position) -> log.info("{} '{}' is to be moved to position {}", entityName, name.apply(item), position));
+            return 0;
+        }
+        List<CompletableFuture<Boolean>> writes = moves.entrySet().stream()
+            .map(e -> CompletableFuture.supplyAsync(() -> {
+                log.info("moving {} '{}' to position {}", entityName, name.apply(e.getKey()), e.getValue());
+                return update.update(e.getKey(), e.getValue());
+            }, apiExecutor))
+            .collect(Collectors.toList());
+        int moved = (int) writes.stream().filter(CompletableFuture::join).count();
+        if (moved < writes.size())
+            log.warn("could not move {} of {} {} items", writes.size() - moved, writes.size(), entityName);
+        return moved;
+    }
+
+    /**
+     * plan positions of siblings, so that their order follows desired positions with the minimum number of moves
+     *
+     * siblings are sorted by desired position (ties are kept in their current order), the longest chain of them with
+     * increasing current positions and room for the siblings between them is kept in place (siblings with equal
+     * desired positions may share current one) and the rest get free positions between kept ones, preferring their
+     * current or desired position if it fits
+     *
+     * @param items siblings
+     * @param current current position (null for siblings not created yet)
+     * @param desired desired position
+     * @return new positions of siblings to be moved (in desired order)
+     */
+    public static <T> Map<T, Long> plan(Collection<T> items, Function<T, Long> current, Function<T, Long> desired) {
+        List<T> order = new ArrayList<>(items);
+        order.sort(Comparator
+            .comparing(desired, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(current, Comparator.nullsLast(Comparator.naturalOrder())));
+        int n = order.size();
+
+        // the longest chain of siblings which could stay in place, O(n^2) is fine for siblings
+        int[] length = new int[n];
+        int[] previous = new int[n];
+        int last = -1;
+        for (int i = 0; i < n; i++) {
+            previous[i] = -1;
+            Long position = current.apply(order.get(i));
+            if (null == position)
+                continue; // not created yet
+            length[i] = position >= i ? 1 : 0; // room for siblings before it (positions start from 0)
+            for (int j = 0; j < i; j++) {
+                Long before = current.apply(order.get(j));
+                boolean chained = length[j] > 0 && (position - before >= i - j
+                    || j == i - 1 && before.equals(position) && Objects.equals(desired.apply(order.get(j)), desired.apply(order.get(i))));
+                if (chained && length[j] + 1 > length[i]) {
+                    length[i] = length[j] + 1;
+                    previous[i] = j;
+                }
+            }
+            if (length[i] > 0 && (last < 0 || length[i] > length[last]))
+                last = i;
+        }
+        Set<Integer> kept = new HashSet<>();
+        for (int i = last; i >= 0; i = previous[i])
+            kept.add(i);
+
+        Map<T, Long> moves = new LinkedHashMap<>();
+        List<T> pending = new ArrayList<>();
+        long assigned = -1; // position of the last placed sibling
+        for (int i = 0; i < n; i++) {
+            T item = order.get(i);
+            if (kept.contains(i)) {
+                place(pending, assigned, current.apply(item), current, desired, moves);
+                assigned = current.apply(item);
+            } else {
+                pending.add(item);
+            }
+        }
+        place(pending, assigned, Long.MAX_VALUE, current, desired, moves);
+        return moves;
+    }
+
+    // place pending siblings strictly between given positions (there is room for all of them)
+    private static <T> void place(List<T> pending, long low, long high, Function<T, Long> current, Function<T, Long> desired,
+        Map<T, Long> moves)
+    {
+        for (int k = 0; k < pending.size(); k++) {
+            T item = pending.get(k);
+            long min = low + 1;
+            long max = Math.min(high, Integer.MAX_VALUE) - (pending.size() - k);
+            long position = min;
+            for (Long candidate : Arrays.asList(current.apply(item), desired.apply(item))) {
+                if (null != candidate && candidate >= min && candidate <= max) {
+                    position = candidate;
+                    break;
+                }
+            }
+            if (!Objects.equals(current.apply(item), position))
+                moves.put(item, position);
+            low = position;
+        }
+        pending.clear();
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.dxfeed.zendesk;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.zendesk.client.v2.ZendeskResponseException;
+import org.zendesk.client.v2.ZendeskResponseRateLimitException;
+import org.zendesk.client.v2.model.hc.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * non-blocking counterpart of {@link ZendeskFacade}: requests are sent with zendesk client async API, so that many
+ * publications could be in flight without parking a thread per request
+ *
+ * same as for blocking facade, failed requests are retried (up to zendesk.max-attempts times), errors are logged
+ * and reported as empty results; help center index is kept coherent with changes; requests share adaptive
+ * concurrency limit and rate limiter of blocking ones, waiting for them without holding a thread
+ *
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ZendeskAsyncFacade {
+
+    private final @NonNull ZendeskFacade zendeskFacade;
+
+    public CompletableFuture<Optional<Category>> addCategory(String name, String description, long position) {
+        Category category = new Category();
+        category.setName(name);
+        category.setDescription(description);
+        category.setPosition(position);
+        return retry("creating category '" + name + "'", Optional.empty(), () ->
+            zendeskFacade.client().createCategoryAsync(category)
+                .thenApply(created -> {
+                    zendeskFacade.updateIndex(idx -> idx.put(created));
+                    return Optional.ofNullable(created);
+                }));
+    }
+
+    public CompletableFuture<Optional<Section>> addSection(Category category, String name, String description, long position) {
+        Section section = new Section();
+        section.setCategoryId(category.getId());
+        section.setName(name);
+        section.setDescription(description);
+        section.setPosition(position);
+        return retry("creating section '" + name + "'", Optional.empty(), () ->
+            zendeskFacade.client().createSectionAsync(section)
+                .thenApply(created -> {
+                    zendeskFacade.updateIndex(idx -> idx.put(created));
+                    return Optional.ofNullable(created);
+                }));
+    }
+
+    public CompletableFuture<Optional<Article>> addArticle(Article article) {
+        return retry("creating article '" + article.getTitle() + "'", Optional.empty(), () ->
+            zendeskFacade.client().createArticleAsync(article)
+                .thenApply(created -> {
+                    zendeskFacade.updateIndex(idx -> idx.put(created));
+                    return Optional.ofNullable(created);
+                }));
+    }
+
+    /**
+     * update article with minimal writes (see {@link ZendeskFacade#updateArticle(Article, Article)}): changed metadata
+     * and changed translation data are sent alongside each other and retried separately, so that body is sent once
+     *
+     * @param existing article as indexed
+     * @param desired copy of existing article with data to be published
+     * @return future completed with updated article or empty if could not update
+     */
+    public CompletableFuture<Optional<Article>> updateArticle(Article existing, Article desired) {
+        Map<String, Object> metadata = ZendeskFacade.metadataChanges(existing, desired);
+        Map<String, Object> translation = ZendeskFacade.translationChanges(existing, desired);
+        if (metadata.isEmpty() && translation.isEmpty()) {
+            log.info("article '{}' not changed, no update needed", desired.getTitle());
+            return CompletableFuture.completedFuture(Optional.of(existing));
+        }
+        log.trace("updating article '{}': {} {}", desired.getTitle(), metadata.keySet(), translation.keySet());
+
+        CompletableFuture<Optional<Article>> metadataUpdated = metadata.isEmpty()
+            ? CompletableFuture.completedFuture(Optional.of(desired))
+            : retry("updating article '" + desired.getTitle() + "'", Optional.empty(), () ->
+                zendeskFacade.client().updateArticleFieldsAsync(existing.getId(), metadata).thenApply(Optional::ofNullable));
+        CompletableFuture<Boolean> translationUpdated = translation.isEmpty()
+            ? CompletableFuture.completedFuture(true)
+            : retry("updating translation of article '" + desired.getTitle() + "'", false, () ->
+                zendeskFacade.client().updateArticleTranslationFieldsAsync(existing.getId(), zendeskFacade.locale(), translation)
+                    .thenApply(t -> true));
+        return metadataUpdated.thenCombine(translationUpdated, (updated, translated) -> {
+            if (!updated.isPresent() || !translated)
+                return Optional.<Article>empty();
+            // update index (title, body and draft flag are updated with translation)
+            Article result = updated.get();
+            result.setTitle(desired.getTitle());
+            result.setBody(desired.getBody());
+            result.setDraft(desired.getDraft());
+            zendeskFacade.updateIndex(idx -> idx.put(result));
+            return Optional.of(result);
+        });
+    }
+
+    /**
+     * position-only update (see {@link ReorderPlanner}): nothing but position is sent
+     *
+     * @return future completed with true if position was updated
+     */
+    public CompletableFuture<Boolean> updateArticlePosition(Article article, long position) {
+        return retry("moving article '" + article.getTitle() + "'", false, () ->
+            zendeskFacade.client().updateArticleFieldsAsync(article.getId(), Collections.singletonMap("position", position))
+                .thenApply(updated -> {
+                    article.setPosition(position);
+                    zendeskFacade.updateIndex(idx -> idx.put(article));
+                    return true;
+                }));
+    }
+
+    public CompletableFuture<Boolean> removeArticle(Article article) {
+        return retry("removing article '" + article.getTitle() + "'", false, () ->
+            zendeskFacade.client().deleteArticleAsync(article)
+                .thenApply(v -> {
+                    zendeskFacade.updateIndex(idx -> idx.remove(article));
+                    return true;
+                }));
+    }
+
+    // run request, retrying it on failure; rate limit pauses are handled by zendesk client
+    private <T> CompletableFuture<T> retry(String action, T fallback, Supplier<CompletableFuture<T>> request) {
+        return attempt(action, fallback, request, 1);
+    }
+
+    private <T> CompletableFuture<T> attempt(String action, T fallback, Supplier<CompletableFuture<T>> request, int attempt) {
+        CompletableFuture<T> future;
+        try {
+            future = request.get();
+        } catch (Exception e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        return future
+            .thenApply(CompletableFuture::completedFuture)
+            .exceptionally(error -> {
+                Throwable e = error instanceof CompletionException && null != error.getCause() ? error.getCause() : error;
+                if (e instanceof ZendeskResponseRateLimitException) {
+                    log.info("Zendesk API rate limit reached {}; retrying after {} seconds", action,
+                        ((ZendeskResponseRateLimitException) e).getRetryAfter());
+                } else if (e instanceof ZendeskResponseException) {
+                    log.warn("zendesk exception occurred {}: {} {}", action,
+                        ((ZendeskResponseException) e).getStatusCode(), ((ZendeskResponseException) e).getStatusText());
+                } else {
+                    log.warn("error {}: {}", action, e.getMessage());
+                    if (log.isTraceEnabled())
+                        e.printStackTrace();
+                }
+                if (attempt < zendeskFacade.maxRequestAttempts())
+                    return attempt(action, fallback, request, attempt + 1);
+                log.info("maximum API request attempts reached");
+                return CompletableFuture.completedFuture(fallback);
+            })
+            .thenCompose(Function.identity());
+    }
+
+}
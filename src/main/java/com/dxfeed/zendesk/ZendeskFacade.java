@@ -14,11 +14,16 @@ import org.zendesk.client.v2.model.hc.*;
 import com.dxfeed.config.AppConfig;
 
 import javax.annotation.PostConstruct;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -27,15 +32,33 @@ import java.util.stream.StreamSupport;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class ZendeskFacade {
 
-    private Map<String, Category> cachedCategories = new ConcurrentHashMap<>();
-    private Map<String, Section>  cachedSections   = new ConcurrentHashMap<>();
-    private Map<String, Article>  cachedArticles   = new ConcurrentHashMap<>();
+    private volatile HelpCenterIndex index = null;
+    private volatile long indexFailedUntil = 0; // failed index load is not repeated until then
+
+    // index load in flight, shared by all concurrent lookups
+    private final AtomicReference<CompletableFuture<Optional<HelpCenterIndex>>> indexLoad = new AtomicReference<>();
 
     private final @NonNull AppConfig appConfig;
+    private final @NonNull ApiExecutor apiExecutor;
 
     @Value("${zendesk.max-attempts}")
     private int maxRequestAttempts;
 
+    @Value("${zendesk.prefetch-depth:" + Zendesk.Builder.DEFAULT_PREFETCH_DEPTH + "}")
+    private int prefetchDepth;
+
+    @Value("${zendesk.concurrency.initial:" + Zendesk.Builder.DEFAULT_INITIAL_CONCURRENCY + "}")
+    private int initialConcurrency;
+
+    @Value("${zendesk.concurrency.max:" + Zendesk.Builder.DEFAULT_MAX_CONCURRENCY + "}")
+    private int maxConcurrency;
+
+    @Value("${zendesk.lookup-failure-ttl:30}")
+    private long lookupFailureTtl;
+
+    @Value("${zendesk.locale:en-us}")
+    private String locale;
+
     private Zendesk zendesk = null;
 
     @PostConstruct
@@ -46,7 +69,10 @@ public class ZendeskFacade {
             zendesk = new Zendesk.Builder(appConfig.url())
                     .setUsername(appConfig.user())
                     .setToken(appConfig.token())
+                    .setPrefetchDepth(prefetchDepth)
+                    .setConcurrencyLimit(initialConcurrency, maxConcurrency)
                     .build();
+            apiExecutor.rateLimit(zendesk::getRateLimit);
         } catch (Exception e) {
             log.warn("Could not initialize ZenDesk client");
         }
@@ -56,26 +82,25 @@ public class ZendeskFacade {
         return zendesk != null;
     }
 
+    Zendesk client() {
+        return zendesk;
+    }
+    int maxRequestAttempts() {
+        return maxRequestAttempts;
+    }
+    String locale() {
+        return locale;
+    }
+
+    /**
+     * @return current adaptive limit of API requests in flight (0 if not limited)
+     */
+    public int concurrencyLimit() {
+        return null == zendesk ? 0 : zendesk.getConcurrencyLimit();
+    }
+
     public List<Category> getCategories() {
-        for (int i = 0; i < maxRequestAttempts; i++) {
-            try {
-                return StreamSupport
-                        .stream(zendesk.getCategories().spliterator(), true)
-                        .collect(Collectors.toList());
-            } catch (ZendeskResponseRateLimitException rateLimit) {
-                apiRateLimitWait(rateLimit.getRetryAfter());
-            } catch (ZendeskResponseException e) {
-                log.warn("zendesk exception occurred requesting categories: {} {}", e.getStatusCode(), e.getStatusText());
-//                if (log.isTraceEnabled())
-//                    log.warn("{}", e.getBody());
-            } catch (Exception e) {
-                log.warn("error requesting categories from zendesk: {}", e.getMessage());
-                if (log.isTraceEnabled())
-                    e.printStackTrace();
-            }
-        }
-        log.info("maximum request attempts reached, no category data received from zendesk");
-        return Collections.emptyList();
+        return index().map(HelpCenterIndex::categories).orElse(Collections.emptyList());
     }
     /**
      * retrieve category from zendesk by category name
@@ -84,26 +109,7 @@ public class ZendeskFacade {
      * @return Optional<Category> or empty if no category found or error occurred
      */
     public Optional<Category> getCategory(String categoryName) {
-        for (int i = 0; i < maxRequestAttempts; i++) {
-            try {
-                return StreamSupport
-                    .stream(zendesk.getCategories().spliterator(), true)
-                    .filter(v -> v.getName().equalsIgnoreCase(categoryName))
-                    .findFirst();
-            } catch (ZendeskResponseRateLimitException rateLimit) {
-                apiRateLimitWait(rateLimit.getRetryAfter());
-            } catch (ZendeskResponseException e) {
-                log.warn("zendesk exception occurred requesting category '{}': {} {}", categoryName, e.getStatusCode(), e.getStatusText());
-//                if (log.isTraceEnabled())
-//                    log.warn("{}", e.getBody());
-            } catch (Exception e) {
-                log.warn("error requesting category '{}' from zendesk: {}", categoryName, e.getMessage());
-                if (log.isTraceEnabled())
-                    e.printStackTrace();
-            }
-        }
-        log.info("maximum request attempts reached, no category data received from zendesk");
-        return Optional.empty();
+        return index().flatMap(i -> i.category(categoryName));
     }
     /**
      * add category to zendesk server
@@ -120,7 +126,9 @@ public class ZendeskFacade {
                 category.setName(name);
                 category.setDescription(description);
                 category.setPosition(position);
-                return Optional.ofNullable(zendesk.createCategory(category));
+                Category createdCategory = zendesk.createCategory(category);
+                updateIndex(idx -> idx.put(createdCategory));
+                return Optional.ofNullable(createdCategory);
             } catch (ZendeskResponseRateLimitException rateLimit) {
                 apiRateLimitWait(rateLimit.getRetryAfter());
             } catch (ZendeskResponseException e) {
@@ -155,14 +163,21 @@ public class ZendeskFacade {
         for (int i = 0; i < maxRequestAttempts; i++) {
             try {
                 category.setPosition(newPosition);
+                // translation is looked up alongside the category update, but written only after it, as category update
+                // carries the old name and would overwrite the translation title otherwise
+                CompletableFuture<Optional<Translation>> translation = apiExecutor.fork(() ->
+                    StreamSupport.stream(getTranslations(category).spliterator(), false).findFirst());
                 Category categoryUpdated = zendesk.updateCategory(category);
-                StreamSupport.stream(getTranslations(categoryUpdated).spliterator(), false)
-                        .findFirst()
-                        .ifPresent(t -> {
-                            t.setTitle(newName);
-                            t.setBody(newDescription);
-                            zendesk.updateCategoryTranslation(categoryUpdated.getId(), t.getLocale(), t);
-                        });
+                ApiExecutor.join(translation).ifPresent(t -> {
+                    t.setTitle(newName);
+                    t.setBody(newDescription);
+                    zendesk.updateCategoryTranslation(category.getId(), t.getLocale(), t);
+                });
+                if (null != categoryUpdated) {
+                    categoryUpdated.setName(newName);
+                    categoryUpdated.setDescription(newDescription);
+                    updateIndex(idx -> idx.put(categoryUpdated));
+                }
                 return Optional.ofNullable(categoryUpdated);
             } catch (ZendeskResponseRateLimitException rateLimit) {
                 apiRateLimitWait(rateLimit.getRetryAfter());
@@ -184,7 +199,7 @@ public class ZendeskFacade {
      *
      * @param name
      * @param description
-     * @param position
+     * @param position of a new one (existing ones are reordered by {@link ReorderPlanner})
      * @param update if existing category should be forcefully updated on a server with given parameters
      * @return Optional<Category> or empty if error occurred
      */
@@ -201,7 +216,7 @@ public class ZendeskFacade {
         if (categoryOpt.isPresent()) {
             if (update) {
                 log.trace("updating category '{}': {} #{}", categoryOpt.get().getId(), name, position);
-                return updateCategory(categoryOpt.get(), name, description, position);
+                return updateCategory(categoryOpt.get(), name, description, categoryOpt.get().getPosition());
             } else {
                 log.trace("category found: {} #{}", categoryOpt.get().getId(), position);
                 return categoryOpt;
@@ -217,6 +232,13 @@ public class ZendeskFacade {
         for (int i = 0; i < maxRequestAttempts; i++) {
             try {
                 zendesk.deleteCategory(category);
+                updateIndex(idx -> {
+                    idx.sections(category).forEach(sec -> {
+                        idx.articles(sec).forEach(idx::remove);
+                        idx.remove(sec);
+                    });
+                    idx.remove(category);
+                });
                 return true;
             } catch (ZendeskResponseRateLimitException rateLimit) {
                 apiRateLimitWait(rateLimit.getRetryAfter());
@@ -241,48 +263,10 @@ public class ZendeskFacade {
      * @return Optional<Section> or empty if no category found or error occurred
      */
     public Optional<Section> getSection(String sectionName) {
-        for (int i = 0; i < maxRequestAttempts; i++) {
-            try {
-                return StreamSupport
-                        .stream(zendesk.getSections().spliterator(), true)
-                        .filter(v -> v.getName().equalsIgnoreCase(sectionName))
-                        .findFirst();
-            } catch (ZendeskResponseRateLimitException rateLimit) {
-                apiRateLimitWait(rateLimit.getRetryAfter());
-            } catch (ZendeskResponseException e) {
-                log.warn("zendesk exception occurred requesting section '{}': {} {}", sectionName, e.getStatusCode(), e.getStatusText());
-//                if (log.isTraceEnabled())
-//                    log.warn("{}", e.getBody());
-            } catch (Exception e) {
-                log.warn("error requesting section '{}' from zendesk: {}", sectionName, e.getMessage());
-                if (log.isTraceEnabled())
-                    e.printStackTrace();
-            }
-        }
-        log.info("maximum request attempts reached, no data received from zendesk");
-        return Optional.empty();
+        return index().flatMap(i -> i.section(sectionName));
     }
     public Optional<Section> getSection(Category category, String sectionName) {
-        for (int i = 0; i < maxRequestAttempts; i++) {
-            try {
-                return StreamSupport
-                    .stream(zendesk.getSections(category).spliterator(), true)
-                    .filter(v -> v.getName().equalsIgnoreCase(sectionName))
-                    .findFirst();
-            } catch (ZendeskResponseRateLimitException rateLimit) {
-                apiRateLimitWait(rateLimit.getRetryAfter());
-            } catch (ZendeskResponseException e) {
-                log.warn("zendesk exception occurred requesting section '{}': {} {}", sectionName, e.getStatusCode(), e.getStatusText());
-//                if (log.isTraceEnabled())
-//                    log.warn("{}", e.getBody());
-            } catch (Exception e) {
-                log.warn("error requesting section '{}' from zendesk: {}", sectionName, e.getMessage());
-                if (log.isTraceEnabled())
-                    e.printStackTrace();
-            }
-        }
-        log.info("maximum request attempts reached, no data received from zendesk");
-        return Optional.empty();
+        return index().flatMap(i -> i.section(category, sectionName));
     }
 //    public Optional<Section> getSection(String categoryName, String sectionName) {
 //        Optional<Category> categoryOpt = getCategoryByName(categoryName);
@@ -309,7 +293,9 @@ public class ZendeskFacade {
                 section.setName(name);
                 section.setDescription(description);
                 section.setPosition(position);
-                return Optional.ofNullable(zendesk.createSection(section));
+                Section createdSection = zendesk.createSection(section);
+                updateIndex(idx -> idx.put(createdSection));
+                return Optional.ofNullable(createdSection);
             } catch (ZendeskResponseRateLimitException rateLimit) {
                 apiRateLimitWait(rateLimit.getRetryAfter());
             } catch (ZendeskResponseException e) {
@@ -357,14 +343,21 @@ public class ZendeskFacade {
         for (int i = 0; i < maxRequestAttempts; i++) {
             try {
                 section.setPosition(newPosition);
+                // translation is looked up alongside the section update, but written only after it, as section update
+                // carries the old name and would overwrite the translation title otherwise
+                CompletableFuture<Optional<Translation>> translation = apiExecutor.fork(() ->
+                    StreamSupport.stream(getTranslations(section).spliterator(), false).findFirst());
                 Section sectionUpdated = zendesk.updateSection(section);
-                StreamSupport.stream(getTranslations(sectionUpdated).spliterator(), false)
-                        .findFirst()
-                        .ifPresent(t -> {
-                            t.setTitle(newName);
-                            t.setBody(newDescription);
-                            zendesk.updateSectionTranslation(sectionUpdated.getId(), t.getLocale(), t);
-                        });
+                ApiExecutor.join(translation).ifPresent(t -> {
+                    t.setTitle(newName);
+                    t.setBody(newDescription);
+                    zendesk.updateSectionTranslation(section.getId(), t.getLocale(), t);
+                });
+                if (null != sectionUpdated) {
+                    sectionUpdated.setName(newName);
+                    sectionUpdated.setDescription(newDescription);
+                    updateIndex(idx -> idx.put(sectionUpdated));
+                }
                 return Optional.ofNullable(sectionUpdated);
             } catch (ZendeskResponseRateLimitException rateLimit) {
                 apiRateLimitWait(rateLimit.getRetryAfter());
@@ -387,7 +380,7 @@ public class ZendeskFacade {
      * @param categoryName
      * @param name
      * @param description
-     * @param position
+     * @param position of a new one (existing ones are reordered by {@link ReorderPlanner})
      * @param update if existing section should be forcefully updated on a server with given parameters
      * @return Optional<Section> or empty if error occurred
      */
@@ -396,7 +389,7 @@ public class ZendeskFacade {
         if (sectionOpt.isPresent()) {
             if (update) {
                 log.trace("updating section '{}': {} #{}", sectionOpt.get().getId(), name, position);
-                return updateSection(sectionOpt.get(), name, description, position);
+                return updateSection(sectionOpt.get(), name, description, sectionOpt.get().getPosition());
             } else {
                 log.trace("section found: {} #{}", sectionOpt.get().getId(), position);
                 return sectionOpt;
@@ -419,7 +412,7 @@ public class ZendeskFacade {
         if (sectionOpt.isPresent()) {
             if (update) {
                 log.trace("updating section '{}': {} #{}", sectionOpt.get().getId(), name, position);
-                return updateSection(sectionOpt.get(), name, description, position);
+                return updateSection(sectionOpt.get(), name, description, sectionOpt.get().getPosition());
             } else {
                 log.trace("section found: {} #{}", sectionOpt.get().getId(), position);
                 return sectionOpt;
@@ -433,111 +426,99 @@ public class ZendeskFacade {
     }
 
     public List<Article> getArticles(Section section) {
-        for (int i = 0; i < maxRequestAttempts; i++) {
-            try {
-                return StreamSupport
-                        .stream(zendesk.getArticles(section).spliterator(), false)
-                        .collect(Collectors.toList());
-            } catch (ZendeskResponseRateLimitException rateLimit) {
-                apiRateLimitWait(rateLimit.getRetryAfter());
-            } catch (ZendeskResponseException e) {
-                log.warn("zendesk exception occurred requesting article list: {} {} {}", e.getStatusCode(), e.getStatusText(), e.getMessage());
-//                if (log.isTraceEnabled())
-//                    log.warn("{}", e.getBody());
-            } catch (Exception e) {
-                log.warn("error requesting article list from zendesk: {}", e.getMessage());
-                if (log.isTraceEnabled())
-                    e.printStackTrace();
-            }
-        }
-        log.info("Maximum request attempts reached, no data received from Zendesk");
-        return Collections.EMPTY_LIST;
+        return index().map(i -> i.articles(section)).orElse(Collections.emptyList());
     }
     public List<Article> getArticles() {
-        for (int i = 0; i < maxRequestAttempts; i++) {
-            try {
-                return StreamSupport
-                        .stream(zendesk.getArticles().spliterator(), false)
-                        .collect(Collectors.toList());
-            } catch (ZendeskResponseRateLimitException rateLimit) {
-                apiRateLimitWait(rateLimit.getRetryAfter());
-            } catch (ZendeskResponseException e) {
-                log.warn("zendesk exception occurred requesting article list: {} {} {}", e.getStatusCode(), e.getStatusText(), e.getMessage());
-//                if (log.isTraceEnabled())
-//                    log.warn("{}", e.getBody());
-            } catch (Exception e) {
-                log.warn("error requesting article list from zendesk: {}", e.getMessage());
-                if (log.isTraceEnabled())
-                    e.printStackTrace();
-            }
-        }
-        log.info("Maximum request attempts reached, no data received from Zendesk");
-        return Collections.EMPTY_LIST;
+        return index().map(HelpCenterIndex::articles).orElse(Collections.emptyList());
     }
 
+    public Optional<Article> getArticle(Long articleId) {
+        return index().flatMap(i -> i.article(articleId));
+    }
     public Optional<Article> getArticle(String articleTitle) {
-        for (int i = 0; i < maxRequestAttempts; i++) {
-            try {
-                return StreamSupport
-                        .stream(zendesk.getArticles().spliterator(), true)
-                        .filter(v -> v.getTitle().equalsIgnoreCase(articleTitle))
-                        .findFirst();
-            } catch (ZendeskResponseRateLimitException rateLimit) {
-                apiRateLimitWait(rateLimit.getRetryAfter());
-            } catch (ZendeskResponseException e) {
-                log.warn("zendesk exception occurred requesting article '{}': {} {} {}", articleTitle, e.getStatusCode(), e.getStatusText(), e.getMessage());
-//                if (log.isTraceEnabled())
-//                    log.warn("{}", e.getBody());
-            } catch (Exception e) {
-                log.warn("error requesting article '{}' from zendesk: {}", articleTitle, e.getMessage());
-                if (log.isTraceEnabled())
-                    e.printStackTrace();
-            }
-        }
-        log.info("Maximum request attempts reached, no data received from Zendesk");
-        return Optional.empty();
+        return index().flatMap(i -> i.article(articleTitle));
     }
     public Optional<Article> getArticle(Section section, String articleTitle) {
+        return index().flatMap(i -> i.article(section, articleTitle));
+    }
+    public Optional<Article> addArticle(Article article) {
         for (int i = 0; i < maxRequestAttempts; i++) {
             try {
-                return StreamSupport
-                        .stream(zendesk.getArticles(section).spliterator(), true)
-                        .filter(v -> v.getTitle().equalsIgnoreCase(articleTitle))
-                        .findFirst();
+                Article createdArticle = zendesk.createArticle(article);
+                // update index
+                updateIndex(idx -> idx.put(createdArticle));
+                return Optional.ofNullable(createdArticle);
             } catch (ZendeskResponseRateLimitException rateLimit) {
                 apiRateLimitWait(rateLimit.getRetryAfter());
             } catch (ZendeskResponseException e) {
-                log.warn("zendesk exception occurred requesting article '{}': {} {} {}", articleTitle, e.getStatusCode(), e.getStatusText(), e.getMessage());
-//                if (log.isTraceEnabled())
-//                    log.warn("{}", e.getBody());
+                log.warn("zendesk exception occurred creating article '{}': {} {}", article.getTitle(), e.getStatusCode(), e.getStatusText());
+                if (log.isTraceEnabled())
+                    log.warn("{}", e.getBody());
             } catch (Exception e) {
-                log.warn("error requesting article '{}' from zendesk: {}", articleTitle, e.getMessage());
+                log.warn("error creating article '{}': {}", article.getTitle(), e.getMessage());
                 if (log.isTraceEnabled())
                     e.printStackTrace();
             }
         }
-        log.info("Maximum request attempts reached, no data received from Zendesk");
+        log.info("maximum API request attempts reached");
         return Optional.empty();
     }
-    public Optional<Article> addArticle(Article article) {
+    /**
+     * update article with minimal writes: changed metadata (section, position, labels, promoted flag) is sent to
+     * article endpoint and changed title, body and draft flag - to its zendesk.locale translation (without listing
+     * translations), so that body is sent once at most and unchanged parts are not sent at all
+     *
+     * @param existing article as indexed
+     * @param desired copy of existing article with data to be published
+     * @return updated article or empty if could not update
+     */
+    public Optional<Article> updateArticle(Article existing, Article desired) {
+        Map<String, Object> metadata = metadataChanges(existing, desired);
+        Map<String, Object> translation = translationChanges(existing, desired);
+        if (metadata.isEmpty() && translation.isEmpty()) {
+            log.info("article '{}' not changed, no update needed", desired.getTitle());
+            return Optional.of(existing);
+        }
+        log.trace("updating article '{}': {} {}", desired.getTitle(), metadata.keySet(), translation.keySet());
+
+        // only the part which failed is sent again on retry, so that body is never sent twice
+        boolean translationDone = translation.isEmpty();
+        boolean metadataDone = metadata.isEmpty();
+        Article updated = desired;
         for (int i = 0; i < maxRequestAttempts; i++) {
             try {
-                Article createdArticle = zendesk.createArticle(article);
-                // update cache
-                if (null != createdArticle) {
-                    cachedArticles.put(createdArticle.getTitle(), createdArticle);
-                } else {
-                    cachedArticles.remove(article.getTitle());
+                // translation is updated alongside the article itself
+                CompletableFuture<Translation> translationUpdated = translationDone
+                    ? CompletableFuture.completedFuture(null)
+                    : apiExecutor.fork(() -> zendesk.updateArticleTranslationFields(existing.getId(), locale, translation));
+                RuntimeException metadataError = null;
+                try {
+                    if (!metadataDone) {
+                        updated = zendesk.updateArticleFields(existing.getId(), metadata);
+                        metadataDone = true;
+                    }
+                } catch (RuntimeException e) {
+                    metadataError = e;
                 }
-                return Optional.ofNullable(createdArticle);
+                ApiExecutor.join(translationUpdated);
+                translationDone = true;
+                if (null != metadataError)
+                    throw metadataError;
+                if (null == updated)
+                    return Optional.empty();
+                // update index (title, body and draft flag are updated with translation)
+                Article result = updated;
+                result.setTitle(desired.getTitle());
+                result.setBody(desired.getBody());
+                result.setDraft(desired.getDraft());
+                updateIndex(idx -> idx.put(result));
+                return Optional.of(result);
             } catch (ZendeskResponseRateLimitException rateLimit) {
                 apiRateLimitWait(rateLimit.getRetryAfter());
             } catch (ZendeskResponseException e) {
-                log.warn("zendesk exception occurred creating article '{}': {} {}", article.getTitle(), e.getStatusCode(), e.getStatusText());
-                if (log.isTraceEnabled())
-                    log.warn("{}", e.getBody());
+                log.warn("zendesk exception occurred updating article '{}': {} {}", desired.getTitle(), e.getStatusCode(), e.getStatusText());
             } catch (Exception e) {
-                log.warn("error creating article '{}': {}", article.getTitle(), e.getMessage());
+                log.warn("error updating article '{}': {}", desired.getTitle(), e.getMessage());
                 if (log.isTraceEnabled())
                     e.printStackTrace();
             }
@@ -545,49 +526,151 @@ public class ZendeskFacade {
         log.info("maximum API request attempts reached");
         return Optional.empty();
     }
-    public Optional<Article> updateArticle(Article article) {
+    /**
+     * @return changed article metadata to be sent to article endpoint (section, position, labels, promoted flag)
+     */
+    static Map<String, Object> metadataChanges(Article existing, Article desired) {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        if (!Objects.equals(existing.getSectionId(), desired.getSectionId()))
+            metadata.put("section_id", desired.getSectionId());
+        if (!Objects.equals(existing.getPosition(), desired.getPosition()))
+            metadata.put("position", desired.getPosition());
+        if (!Objects.equals(labelSet(existing), labelSet(desired)))
+            metadata.put("label_names", desired.getLabelNames());
+        if (!Objects.equals(existing.getPromoted(), desired.getPromoted()))
+            metadata.put("promoted", desired.getPromoted());
+        return metadata;
+    }
+    /**
+     * @return changed article data to be sent to its translation (title, body, draft flag)
+     */
+    static Map<String, Object> translationChanges(Article existing, Article desired) {
+        Map<String, Object> translation = new LinkedHashMap<>();
+        if (!Objects.equals(existing.getTitle(), desired.getTitle()))
+            translation.put("title", desired.getTitle());
+        if (!Objects.equals(existing.getBody(), desired.getBody()))
+            translation.put("body", desired.getBody());
+        if (!Objects.equals(existing.getDraft(), desired.getDraft()))
+            translation.put("draft", desired.getDraft());
+        return translation;
+    }
+    private static Set<String> labelSet(Article article) {
+        return null == article.getLabelNames() ? Collections.emptySet() : new HashSet<>(article.getLabelNames());
+    }
+
+    /**
+     * position-only updates (see {@link ReorderPlanner}): nothing but position is sent
+     *
+     * @return true if position was updated
+     */
+    public boolean updateArticlePosition(Article article, long position) {
+        return updatePosition("article", article.getTitle(),
+            () -> zendesk.updateArticleFields(article.getId(), Collections.singletonMap("position", position)),
+            () -> {
+                article.setPosition(position);
+                updateIndex(idx -> idx.put(article));
+            });
+    }
+    public boolean updateSectionPosition(Section section, long position) {
+        return updatePosition("section", section.getName(),
+            () -> zendesk.updateSectionFields(section.getId(), Collections.singletonMap("position", position)),
+            () -> {
+                section.setPosition(position);
+                updateIndex(idx -> idx.put(section));
+            });
+    }
+    public boolean updateCategoryPosition(Category category, long position) {
+        return updatePosition("category", category.getName(),
+            () -> zendesk.updateCategoryFields(category.getId(), Collections.singletonMap("position", position)),
+            () -> {
+                category.setPosition(position);
+                updateIndex(idx -> idx.put(category));
+            });
+    }
+
+    private boolean updatePosition(String entityName, String name, Supplier<Object> request, Runnable updated) {
         for (int i = 0; i < maxRequestAttempts; i++) {
             try {
-                Optional<Article> updatedArticle = Optional.ofNullable(zendesk.updateArticle(article));
-                StreamSupport.stream(zendesk.getArticleTranslations(article.getId()).spliterator(), false)
-                    .findFirst().ifPresent(translation -> {
-                        translation.setBody(article.getBody());
-                        translation.setDraft(article.getDraft());
-                        translation.setTitle(article.getTitle());
-//                        zendesk.deleteTranslation(translation);
-//                        zendesk.createArticleTranslation(article.getId(), translation);
-                        zendesk.updateArticleTranslation(article.getId(), translation.getLocale(), translation);
-//                        if (null == zendesk.updateArticleTranslation(article.getId(), article.getLocale(), translation)) {
-//                            log.warn("could not update translation for article '{}'", article.getTitle());
-//                        }
-                    }
-                 );
-                // update cache
-                if (updatedArticle.isPresent()) {
-                    cachedArticles.put(updatedArticle.get().getTitle(), updatedArticle.get());
-                } else {
-                    cachedArticles.remove(article.getTitle());
-                }
-                return updatedArticle;
+                if (null == request.get())
+                    return false;
+                updated.run();
+                return true;
             } catch (ZendeskResponseRateLimitException rateLimit) {
                 apiRateLimitWait(rateLimit.getRetryAfter());
             } catch (ZendeskResponseException e) {
-                log.warn("zendesk exception occurred updating article '{}': {} {}", article.getTitle(), e.getStatusCode(), e.getStatusText());
-//                if (log.isTraceEnabled())
-//                    log.warn("{}", e.getBody());
+                log.warn("zendesk exception occurred updating position of {} '{}': {} {}", entityName, name, e.getStatusCode(), e.getStatusText());
             } catch (Exception e) {
-                log.warn("error updating article '{}': {}", article.getTitle(), e.getMessage());
+                log.warn("error updating position of {} '{}': {}", entityName, name, e.getMessage());
                 if (log.isTraceEnabled())
                     e.printStackTrace();
             }
         }
         log.info("maximum API request attempts reached");
-        return Optional.empty();
+        return false;
+    }
+    /**
+     * @param article
+     * @return attachments of given article or empty if they could not be listed
+     */
+    public Optional<List<ArticleAttachments>> getArticleAttachments(Article article) {
+        return fetchAll("article attachment", () -> zendesk.getAttachmentsFromArticle(article.getId()));
+    }
+
+    /**
+     * upload given files as inline attachments of given article, uploads are sent all at once (without holding
+     * a thread per upload) and failed ones are retried
+     *
+     * @param article
+     * @param files files by attachment file name
+     * @return uploaded attachments by file name (failed uploads are missing)
+     */
+    public Map<String, ArticleAttachments> uploadArticleAttachments(Article article, Map<String, File> files) {
+        Map<String, ArticleAttachments> uploaded = new ConcurrentHashMap<>();
+        Map<String, File> remaining = new HashMap<>(files);
+        for (int i = 0; i < maxRequestAttempts && !remaining.isEmpty(); i++) {
+            AtomicLong retryAfter = new AtomicLong(0);
+            remaining.entrySet().stream()
+                .map(e -> upload(article, e.getKey(), e.getValue()).handle((attachment, error) -> {
+                    Throwable cause = error instanceof CompletionException && null != error.getCause() ? error.getCause() : error;
+                    if (null != attachment) {
+                        uploaded.put(e.getKey(), attachment);
+                    } else if (cause instanceof ZendeskResponseRateLimitException) {
+                        retryAfter.accumulateAndGet(((ZendeskResponseRateLimitException) cause).getRetryAfter(), Math::max);
+                    } else if (cause instanceof ZendeskResponseException) {
+                        log.warn("zendesk exception occurred uploading image '{}' of article '{}': {} {}", e.getKey(), article.getTitle(),
+                            ((ZendeskResponseException) cause).getStatusCode(), ((ZendeskResponseException) cause).getStatusText());
+                    } else {
+                        log.warn("error uploading image '{}' of article '{}': {}", e.getKey(), article.getTitle(),
+                            null == cause ? "no attachment returned" : cause.getMessage());
+                        if (log.isTraceEnabled() && null != cause)
+                            cause.printStackTrace();
+                    }
+                    return null;
+                }))
+                .collect(Collectors.toList())
+                .forEach(CompletableFuture::join);
+            remaining.keySet().removeAll(uploaded.keySet());
+            if (retryAfter.get() > 0)
+                apiRateLimitWait(retryAfter.get());
+        }
+        if (!remaining.isEmpty())
+            log.info("maximum API request attempts reached, {} images of article '{}' not uploaded", remaining.size(), article.getTitle());
+        return uploaded;
+    }
+    private CompletableFuture<ArticleAttachments> upload(Article article, String fileName, File file) {
+        try {
+            return zendesk.createUploadArticleAsync(article.getId(), file, fileName, true);
+        } catch (RuntimeException e) {
+            CompletableFuture<ArticleAttachments> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
     }
     public boolean removeArticle(Article article) {
         for (int i = 0; i < maxRequestAttempts; i++) {
             try {
                 zendesk.deleteArticle(article);
+                updateIndex(idx -> idx.remove(article));
                 return true;
             } catch (ZendeskResponseRateLimitException rateLimit) {
                 apiRateLimitWait(rateLimit.getRetryAfter());
@@ -624,83 +707,117 @@ public class ZendeskFacade {
             return null;
     }
 
+    // zendesk client pauses all requests on rate limit response, so retry will wait for the pause to end
     private void apiRateLimitWait(long seconds) {
         log.info("Zendesk API rate limit reached; waiting for {} seconds to continue", seconds);
-        try {
-            Thread.sleep(seconds * 1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
     }
 
     public Optional<Category> getCategoryByName(String name) {
-        if (cachedCategories.containsKey(name)) {
-            return Optional.of(cachedCategories.get(name));
-        } else {
-            Optional<Category> categoryOpt = getCategory(name);
-            if (categoryOpt.isPresent())
-                cachedCategories.put(name, categoryOpt.get());
-            return categoryOpt;
-        }
+        return getCategory(name);
     }
     public Optional<Section> getSectionByName(String categoryName, String sectionName) {
-        Optional<Category> categoryOpt = getCategoryByName(categoryName);
-        if (categoryOpt.isPresent()) {
-            if (cachedSections.containsKey(sectionName)
-             && cachedSections.get(sectionName).getCategoryId() == categoryOpt.get().getId()) {
-                return Optional.of(cachedSections.get(sectionName));
-            } else {
-                Optional<Section> sectionOpt = getSection(categoryOpt.get(), sectionName);
-                if (sectionOpt.isPresent())
-                    cachedSections.put(sectionName, sectionOpt.get());
-                return sectionOpt;
-            }
-        } else {
-            return Optional.empty();
-        }
+        return getCategoryByName(categoryName).flatMap(c -> getSection(c, sectionName));
     }
     public Optional<Section> getSectionByName(String sectionName) {
-        if (cachedSections.containsKey(sectionName)) {
-            return Optional.of(cachedSections.get(sectionName));
-        } else {
-            Optional<Section> sectionOpt = getSection(sectionName);
-            if (sectionOpt.isPresent())
-                cachedSections.put(sectionName, sectionOpt.get());
-            return sectionOpt;
-        }
+        return getSection(sectionName);
     }
     public Optional<Article> getArticleByName(String categoryName, String sectionName, String articleName) {
-        Optional<Section> sectionOpt = getSectionByName(categoryName, sectionName);
-        return getArticleBySectionAndTitle(sectionOpt, articleName);
+        return getSectionByName(categoryName, sectionName).flatMap(s -> getArticle(s, articleName));
     }
     public Optional<Article> getArticleByName(String sectionName, String articleName) {
-        Optional<Section> sectionOpt = getSectionByName(sectionName);
-        return getArticleBySectionAndTitle(sectionOpt, articleName);
-    }
-    private Optional<Article> getArticleBySectionAndTitle(Optional<Section> section, String articleName) {
-        if (section.isPresent()) {
-            if (cachedArticles.containsKey(articleName)
-            && cachedArticles.get(articleName).getSectionId() == section.get().getId()) {
-                return Optional.of(cachedArticles.get(articleName));
-            } else {
-                Optional<Article> articleOpt = getArticle(section.get(), articleName);
-                if (articleOpt.isPresent())
-                    cachedArticles.put(articleName, articleOpt.get());
-                return articleOpt;
-            }
-        } else {
+        return getSectionByName(sectionName).flatMap(s -> getArticle(s, articleName));
+    }
+    public Optional<Article> getArticleByName(String name) {
+        return getArticle(name);
+    }
+
+    /**
+     * get help center index (categories, sections and articles are fetched on first call)
+     *
+     * concurrent callers share a single load in flight; if it fails, lookups report empty result without fetching
+     * again for zendesk.lookup-failure-ttl seconds, so that parallel workers do not repeat full scans one after another
+     *
+     * @return index or empty if help center contents could not be fetched
+     */
+    public Optional<HelpCenterIndex> index() {
+        HelpCenterIndex result = index;
+        if (null != result)
+            return Optional.of(result);
+        if (System.currentTimeMillis() < indexFailedUntil)
             return Optional.empty();
+
+        CompletableFuture<Optional<HelpCenterIndex>> load = new CompletableFuture<>();
+        while (!indexLoad.compareAndSet(null, load)) {
+            CompletableFuture<Optional<HelpCenterIndex>> inFlight = indexLoad.get();
+            if (null != inFlight)
+                return inFlight.join();
+        }
+        try {
+            // another load could have finished after the checks above
+            Optional<HelpCenterIndex> loaded = null != index ? Optional.of(index)
+                : System.currentTimeMillis() < indexFailedUntil ? Optional.empty()
+                : loadIndex();
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            load.complete(Optional.empty());
+            throw e;
+        } finally {
+            indexLoad.set(null);
         }
     }
-    public Optional<Article> getArticleByName(String name) {
-        if (cachedArticles.containsKey(name)) {
-            return Optional.of(cachedArticles.get(name));
-        } else {
-            Optional<Article> articleOpt = getArticle(name);
-            if (articleOpt.isPresent())
-                cachedArticles.put(name, articleOpt.get());
-            return articleOpt;
+
+    private Optional<HelpCenterIndex> loadIndex() {
+        long timeA = System.currentTimeMillis();
+        Optional<List<Category>> categories = fetchAll("category", () -> zendesk.getCategories());
+        Optional<List<Section>>  sections   = fetchAll("section", () -> zendesk.getSections());
+        Optional<List<Article>>  articles   = fetchAll("article", () -> zendesk.getArticles());
+        if (!categories.isPresent() || !sections.isPresent() || !articles.isPresent()) {
+            log.warn("could not load help center index, not retrying for {} seconds", lookupFailureTtl);
+            indexFailedUntil = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(lookupFailureTtl);
+            return Optional.empty();
+        }
+        HelpCenterIndex loaded = new HelpCenterIndex(categories.get(), sections.get(), articles.get());
+        index = loaded;
+        log.info("help center index loaded in {} ms: {} categories, {} sections, {} articles",
+            System.currentTimeMillis() - timeA, categories.get().size(), sections.get().size(), articles.get().size());
+        return Optional.of(loaded);
+    }
+
+    /**
+     * drop help center index (and forget failed load), so that it will be fetched again on next lookup
+     */
+    public void invalidateIndex() {
+        index = null;
+        indexFailedUntil = 0;
+    }
+
+    void updateIndex(Consumer<HelpCenterIndex> action) {
+        HelpCenterIndex current = index;
+        if (null != current)
+            action.accept(current);
+    }
+
+    private <T> Optional<List<T>> fetchAll(String entityName, Supplier<Iterable<T>> request) {
+        for (int i = 0; i < maxRequestAttempts; i++) {
+            try {
+                return Optional.of(
+                    StreamSupport
+                        .stream(request.get().spliterator(), false)
+                        .collect(Collectors.toList())
+                );
+            } catch (ZendeskResponseRateLimitException rateLimit) {
+                apiRateLimitWait(rateLimit.getRetryAfter());
+            } catch (ZendeskResponseException e) {
+                log.warn("zendesk exception occurred requesting {} list: {} {}", entityName, e.getStatusCode(), e.getStatusText());
+            } catch (Exception e) {
+                log.warn("error requesting {} list from zendesk: {}", entityName, e.getMessage());
+                if (log.isTraceEnabled())
+                    e.printStackTrace();
+            }
         }
+        log.info("maximum request attempts reached, no {} data received from zendesk", entityName);
+        return Optional.empty();
     }
 
 }
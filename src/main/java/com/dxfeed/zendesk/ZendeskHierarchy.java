@@ -14,4 +14,11 @@ public class ZendeskHierarchy {
     Category category;
     Section section;
 
+    /**
+     * @return copy to be updated (or kept) by another directory or task, so that hierarchies are never shared
+     */
+    public ZendeskHierarchy copy() {
+        return new ZendeskHierarchy().category(category).section(section);
+    }
+
 }
@@ -11,9 +11,13 @@ import org.zendesk.client.v2.model.hc.Article;
 import org.zendesk.client.v2.model.hc.Category;
 import org.zendesk.client.v2.model.hc.Section;
 import com.dxfeed.model.Document;
+import com.dxfeed.model.HierarchyEntry;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -21,6 +25,7 @@ import java.util.Properties;
 public class ZendeskTools {
 
     public final @NonNull ZendeskFacade zendeskFacade;
+    private final @NonNull ReconciliationRegistry reconciliationRegistry;
 
     @Value("${properties.template.category.title}")
     private String categoryTitleTemplate;
@@ -61,17 +66,61 @@ public class ZendeskTools {
     @Value("${zendesk.comments-disabled:false}")
     private boolean commentsDisabled;
 
+    @Value("${zendesk.fingerprint-label:true}")
+    private boolean fingerprintLabel;
+
+    // reserved label carrying fingerprint of published article data (see PublishManifest.fingerprint)
+    public static final String FINGERPRINT_LABEL_PREFIX = "a2z-fp-";
+    private static final int   FINGERPRINT_LABEL_LENGTH = 16;
+
+    /**
+     * @return true if existing categories and sections should be updated with directory properties
+     */
+    public boolean forcedUpdate() {
+        return shouldUpdate;
+    }
+
+    /**
+     * @param properties directory properties
+     * @return category data or empty if category name is not set
+     */
+    public Optional<HierarchyEntry> category(Properties properties) {
+        return entry(properties, categoryTitleTemplate, categoryOldTitleTemplate, categoryDescriptionTemplate, categoryPositionTemplate);
+    }
+
+    /**
+     * @param properties directory properties
+     * @return section data or empty if section name is not set
+     */
+    public Optional<HierarchyEntry> section(Properties properties) {
+        return entry(properties, sectionTitleTemplate, sectionOldTitleTemplate, sectionDescriptionTemplate, sectionPositionTemplate);
+    }
+
+    private static Optional<HierarchyEntry> entry(Properties properties, String title, String oldTitle, String description, String position) {
+        String name = properties.getProperty(title, null);
+        if (StringUtils.isBlank(name))
+            return Optional.empty();
+        return Optional.of(new HierarchyEntry()
+            .name(name)
+            .oldName(properties.getProperty(oldTitle, null))
+            .description(properties.getProperty(description, ""))
+            .position(Integer.valueOf(properties.getProperty(position, "0"))));
+    }
+
     public boolean updateHierarchy(ZendeskHierarchy hierarchy, Properties properties) {
 
-        String catName    = properties.getProperty(categoryTitleTemplate, null);
-        String catOldName = properties.getProperty(categoryOldTitleTemplate, null);
-        String catDesc    = properties.getProperty(categoryDescriptionTemplate, "");
-        int     catPos    = Integer.valueOf(properties.getProperty(categoryPositionTemplate, "0"));
+        Optional<HierarchyEntry> category = category(properties);
+        Optional<HierarchyEntry> section  = section(properties);
+
+        String catName    = category.map(HierarchyEntry::name).orElse(null);
+        String catOldName = category.map(HierarchyEntry::oldName).orElse(null);
+        String catDesc    = category.map(HierarchyEntry::description).orElse("");
+        long    catPos    = category.map(HierarchyEntry::position).orElse(0L);
 
-        String secName    = properties.getProperty(sectionTitleTemplate, null);
-        String secOldName = properties.getProperty(sectionOldTitleTemplate, null);
-        String secDesc    = properties.getProperty(sectionDescriptionTemplate, "");
-        int     secPos    = Integer.valueOf(properties.getProperty(sectionPositionTemplate, "0"));
+        String secName    = section.map(HierarchyEntry::name).orElse(null);
+        String secOldName = section.map(HierarchyEntry::oldName).orElse(null);
+        String secDesc    = section.map(HierarchyEntry::description).orElse("");
+        long    secPos    = section.map(HierarchyEntry::position).orElse(0L);
 
         if (StringUtils.isBlank(catName) && (StringUtils.isBlank(secName))) {
             log.warn("neither category nor section name set in properties");
@@ -85,10 +134,12 @@ public class ZendeskTools {
 
         // load category if needed
         if (!StringUtils.isBlank(catName) && (null == hierarchy.category() || !hierarchy.category().getName().equalsIgnoreCase(catName))) {
-            if (!StringUtils.isBlank(catOldName)) {
-                log.warn(">>> RENAMING '{}' -> '{}'", catOldName, catName);
-            }
-            Optional<Category> categoryOpt = zendeskFacade.getCategory(catOldName, catName, catDesc, catPos, shouldUpdate);
+            Optional<Category> categoryOpt = reconciliationRegistry.category(category.get(), () -> {
+                if (!StringUtils.isBlank(catOldName)) {
+                    log.warn(">>> RENAMING '{}' -> '{}'", catOldName, catName);
+                }
+                return zendeskFacade.getCategory(catOldName, catName, catDesc, catPos, shouldUpdate);
+            });
             if (categoryOpt.isPresent()) {
                 log.trace("~~~~~~~~~ got category: '{}' #{} #{}", categoryOpt.get().getName(), categoryOpt.get().getPosition(), categoryOpt.get().getId());
                 hierarchy.category(categoryOpt.get());
@@ -104,7 +155,9 @@ public class ZendeskTools {
                 log.warn("category not set in hierarchy structure");
                 return false;
             }
-            Optional<Section> sectionOpt = zendeskFacade.getSection(hierarchy.category(), secOldName, secName, secDesc, secPos, shouldUpdate);
+            Category parent = hierarchy.category();
+            Optional<Section> sectionOpt = reconciliationRegistry.section(parent, section.get(),
+                () -> zendeskFacade.getSection(parent, secOldName, secName, secDesc, secPos, shouldUpdate));
             if (sectionOpt.isPresent()) {
                 hierarchy.section(sectionOpt.get());
             } else {
@@ -116,7 +169,43 @@ public class ZendeskTools {
         return true;
     }
 
-    public Optional<Article> createArticle(Document document, Section section, String contents, Integer groupId) {
+    /**
+     * check if article on zendesk server was published with given fingerprint (taken from its reserved label),
+     * so that it could be skipped without any API calls
+     *
+     * @param article article from help center listing
+     * @param fingerprint fingerprint of data to be published
+     * @return true if article carries the same fingerprint
+     */
+    public boolean isPublished(Article article, String fingerprint) {
+        return fingerprintLabel && null != article && null != article.getLabelNames() && null != fingerprint
+            && article.getLabelNames().contains(fingerprintLabel(fingerprint));
+    }
+
+    /**
+     * @param article
+     * @return article labels without reserved fingerprint label
+     */
+    public static List<String> labels(Article article) {
+        if (null == article.getLabelNames())
+            return new ArrayList<>();
+        return article.getLabelNames().stream()
+            .filter(l -> !l.startsWith(FINGERPRINT_LABEL_PREFIX))
+            .collect(Collectors.toList());
+    }
+
+    private static String fingerprintLabel(String fingerprint) {
+        return FINGERPRINT_LABEL_PREFIX + StringUtils.left(fingerprint, FINGERPRINT_LABEL_LENGTH);
+    }
+
+    private List<String> labels(Document document, String fingerprint) {
+        List<String> labels = null == document.tags() ? new ArrayList<>() : new ArrayList<>(document.tags());
+        if (fingerprintLabel && StringUtils.isNotBlank(fingerprint))
+            labels.add(fingerprintLabel(fingerprint));
+        return labels;
+    }
+
+    public Optional<Article> createArticle(Document document, Section section, String contents, Integer groupId, String fingerprint) {
         if (null == document || null == section || StringUtils.isBlank(contents))
             return Optional.empty();
         try {
@@ -127,7 +216,7 @@ public class ZendeskTools {
             article.setDraft(document.draft());
             article.setPromoted(document.promoted());
             article.setBody(contents);
-            article.setLabelNames(document.tags());
+            article.setLabelNames(labels(document, fingerprint));
             article.setUserSegmentId(null);
             article.setPermissionGroupId(
                 (null == groupId)
@@ -142,19 +231,55 @@ public class ZendeskTools {
         }
     }
 
-    public Optional<Article> updateArticle(Article article, Document document, String contents) {
-        if (null == article || null == document || StringUtils.isBlank(contents))
+    /**
+     * @param existing article as indexed (not changed)
+     * @param document
+     * @param contents converted document
+     * @param fingerprint
+     * @return copy of existing article with document data, to be compared with existing one on update (position is
+     *         kept, as it is set by {@link ReorderPlanner})
+     */
+    public Optional<Article> updateArticle(Article existing, Document document, String contents, String fingerprint) {
+        if (null == existing || null == document || StringUtils.isBlank(contents))
             return Optional.empty();
         try {
+            Article article = copy(existing);
             article.setTitle(document.title());
             article.setBody(contents);
             article.setDraft(document.draft());
-            article.setLabelNames(document.tags());
+            article.setLabelNames(labels(document, fingerprint));
             article.setPromoted(document.promoted());
-            article.setPosition(document.position());
             return Optional.of(article);
         } catch (Exception e) {
             return Optional.empty();
         }
     }
+
+    private static Article copy(Article source) {
+        Article article = new Article();
+        article.setId(source.getId());
+        article.setUrl(source.getUrl());
+        article.setHtmlUrl(source.getHtmlUrl());
+        article.setTitle(source.getTitle());
+        article.setBody(source.getBody());
+        article.setLocale(source.getLocale());
+        article.setSourceLocale(source.getSourceLocale());
+        article.setAuthorId(source.getAuthorId());
+        article.setCommentsDisabled(source.getCommentsDisabled());
+        article.setOutdated(source.getOutdated());
+        article.setOutdatedLocales(source.getOutdatedLocales());
+        article.setLabelNames(source.getLabelNames());
+        article.setDraft(source.getDraft());
+        article.setPromoted(source.getPromoted());
+        article.setPosition(source.getPosition());
+        article.setVoteSum(source.getVoteSum());
+        article.setVoteCount(source.getVoteCount());
+        article.setSectionId(source.getSectionId());
+        article.setUserSegmentId(source.getUserSegmentId());
+        article.setPermissionGroupId(source.getPermissionGroupId());
+        article.setCreatedAt(source.getCreatedAt());
+        article.setUpdatedAt(source.getUpdatedAt());
+        article.setEditedAt(source.getEditedAt());
+        return article;
+    }
 }
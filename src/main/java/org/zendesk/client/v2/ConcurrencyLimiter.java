@@ -0,0 +1,154 @@
+package org.zendesk.client.v2;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive (AIMD) limit of requests in flight shared by all requests (blocking and asynchronous ones) of a
+ * {@link Zendesk} client.
+ * <p>
+ * The limit grows by one per round of successful responses while latency stays flat, and is cut
+ * multiplicatively on HTTP 429 and 5xx responses or when recent latency rises well above its long-term
+ * average, so that the client converges on what the account's plan sustains instead of relying on a
+ * static number of threads. The limit is decreased at most once per observed latency period, so that a
+ * burst of failures of requests sent together counts as a single congestion signal.
+ * <p>
+ * Waiting requests are queued as futures completed once a slot is released, so that asynchronous requests
+ * wait for the limit without holding any thread.
+ */
+class ConcurrencyLimiter {
+
+    static final int DEFAULT_INITIAL_LIMIT = 4;
+    static final int DEFAULT_MAX_LIMIT     = 64;
+
+    private static final double ERROR_BACKOFF     = 0.5;  // on 429 or 5xx
+    private static final double LATENCY_BACKOFF   = 0.75; // on latency spike
+    private static final double LATENCY_TOLERANCE = 2.0;  // spike: recent latency exceeds long-term one that much
+    private static final double SHORT_ALPHA       = 0.3;
+    private static final double LONG_ALPHA        = 0.02;
+
+    private final Logger logger = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+    private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
+    // monitors are not used, so that virtual threads waiting for the limit are not pinned
+    private final ReentrantLock                 lock    = new ReentrantLock();
+    private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+
+    private final int maxLimit;
+    private double    limit;
+    private int       inFlight     = 0;
+    private double    shortLatency = 0; // nanoseconds, 0 if not known yet
+    private double    longLatency  = 0;
+    private long      lastDecrease = System.nanoTime();
+
+    /**
+     * @param initialLimit requests in flight allowed before any response is seen
+     * @param maxLimit upper bound of the limit (0 or negative disables limiting)
+     */
+    ConcurrencyLimiter(int initialLimit, int maxLimit) {
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(1, Math.min(initialLimit, Math.max(1, maxLimit)));
+    }
+
+    /**
+     * Wait until request is allowed to be sent.
+     */
+    void acquire() {
+        acquireAsync().join();
+    }
+
+    /**
+     * Acquire request slot without blocking calling thread.
+     *
+     * @return future completed once request is allowed to be sent (in order of acquisition)
+     */
+    CompletableFuture<Void> acquireAsync() {
+        if (maxLimit <= 0) {
+            return ACQUIRED;
+        }
+        lock.lock();
+        try {
+            if (waiting.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return ACQUIRED;
+            }
+            CompletableFuture<Void> slot = new CompletableFuture<>();
+            waiting.add(slot);
+            return slot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release request slot and adjust the limit according to request outcome.
+     *
+     * @param statusCode HTTP status of response, 0 if request failed without response
+     * @param latency nanoseconds from sending request to receiving response
+     */
+    void release(int statusCode, long latency) {
+        if (maxLimit <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        lock.lock();
+        try {
+            inFlight--;
+            if (statusCode == 429 || statusCode >= 500) {
+                decrease(now, ERROR_BACKOFF, "HTTP " + statusCode);
+            } else if (statusCode / 100 == 2) {
+                shortLatency = shortLatency == 0 ? latency : shortLatency + SHORT_ALPHA * (latency - shortLatency);
+                longLatency = longLatency == 0 ? latency : longLatency + LONG_ALPHA * (latency - longLatency);
+                if (shortLatency > LATENCY_TOLERANCE * longLatency) {
+                    decrease(now, LATENCY_BACKOFF, "latency " + TimeUnit.NANOSECONDS.toMillis((long) shortLatency) + " ms");
+                    shortLatency = longLatency; // next decrease needs new evidence
+                } else if (2 * inFlight + 2 >= limit) {
+                    // limit is grown only while it is actually used
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+            while (!waiting.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                granted.add(waiting.poll());
+            }
+        } finally {
+            lock.unlock();
+        }
+        // waiting requests are sent outside of the lock (possibly right from this thread)
+        granted.forEach(slot -> slot.complete(null));
+    }
+
+    /**
+     * @return current limit of requests in flight, 0 if limiting is disabled
+     */
+    int getLimit() {
+        lock.lock();
+        try {
+            return maxLimit > 0 ? (int) limit : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrease(long now, double factor, String reason) {
+        if (now - lastDecrease < Math.max(shortLatency, longLatency)) {
+            return;
+        }
+        lastDecrease = now;
+        double decreased = Math.max(1, limit * factor);
+        if ((int) decreased < (int) limit) {
+            logger.info("Concurrency limit decreased from {} to {} ({})", (int) limit, (int) decreased, reason);
+        }
+        limit = decreased;
+    }
+}
@@ -0,0 +1,127 @@
+package org.zendesk.client.v2;
+
+import org.asynchttpclient.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket shared by all requests of a {@link Zendesk} client.
+ * <p>
+ * Bucket capacity and refill rate are learned from {@code X-Rate-Limit} (requests per minute) and
+ * {@code X-Rate-Limit-Remaining} response headers, so that requests are paced at the account's sustained
+ * limit instead of running into HTTP 429 responses. Until the limit is known requests are not delayed.
+ * A 429 response pauses all callers until its {@code Retry-After} period elapses.
+ */
+class RateLimiter {
+
+    private static final String RATE_LIMIT_HEADER           = "X-Rate-Limit";
+    private static final String RATE_LIMIT_REMAINING_HEADER = "X-Rate-Limit-Remaining";
+    private static final String RETRY_AFTER_HEADER          = "Retry-After";
+    private static final long   DEFAULT_RETRY_AFTER         = 60L;
+    private static final double WINDOW_NANOS                = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private double capacity    = 0;  // requests per minute, 0 if not known yet
+    private double tokens      = 0;  // negative value means requests waiting for tokens
+    private long   lastRefill  = System.nanoTime();
+    private long   pausedUntil = System.nanoTime();
+
+    /**
+     * Wait until request is allowed to be sent.
+     */
+    void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Rate limit: delaying request for {} ms", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ZendeskException(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Reserve a token for a request.
+     *
+     * @return nanoseconds to wait before request can be sent
+     */
+    synchronized long reserve() {
+        long now = System.nanoTime();
+        long wait = Math.max(0, pausedUntil - now);
+        if (capacity > 0) {
+            refill(now);
+            tokens -= 1;
+            if (tokens < 0) {
+                wait = Math.max(wait, (long) (-tokens * WINDOW_NANOS / capacity));
+            }
+        }
+        return wait;
+    }
+
+    /**
+     * Update limiter state with rate limit data from response.
+     */
+    synchronized void update(Response response) {
+        long now = System.nanoTime();
+        Long limit = header(response, RATE_LIMIT_HEADER);
+        if (limit != null && limit > 0) {
+            if (capacity == 0) {
+                tokens = limit;
+                lastRefill = now;
+            } else {
+                refill(now);
+            }
+            capacity = limit;
+        }
+        Long remaining = header(response, RATE_LIMIT_REMAINING_HEADER);
+        if (remaining != null && capacity > 0) {
+            tokens = Math.min(tokens, remaining);
+        }
+        if (response.getStatusCode() == 429) {
+            Long retryAfter = header(response, RETRY_AFTER_HEADER);
+            pause(retryAfter == null ? DEFAULT_RETRY_AFTER : retryAfter);
+        }
+    }
+
+    /**
+     * Pause all requests for given number of seconds.
+     */
+    synchronized void pause(long seconds) {
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        if (until - pausedUntil > 0) {
+            logger.info("Rate limit exceeded, pausing all requests for {} seconds", seconds);
+            pausedUntil = until;
+        }
+        if (capacity > 0) {
+            tokens = Math.min(tokens, 0);
+        }
+    }
+
+    synchronized double getCapacity() {
+        return capacity;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * capacity / WINDOW_NANOS);
+        lastRefill = now;
+    }
+
+    private static Long header(Response response, String name) {
+        String value = response.getHeader(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package org.zendesk.client.v2;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import org.asynchttpclient.Request;
@@ -22,11 +24,18 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.net.URLConnection;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 /**
@@ -42,7 +51,14 @@ public class Zendesk implements Closeable {
     private final String oauthToken;
     private final Map<String, String> headers;
     private final ObjectMapper mapper;
+    private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
     private final Logger logger;
+    private final RateLimiter rateLimiter = new RateLimiter();
+    private ConcurrencyLimiter concurrencyLimiter =
+        new ConcurrencyLimiter(Builder.DEFAULT_INITIAL_CONCURRENCY, Builder.DEFAULT_MAX_CONCURRENCY);
+    private volatile ScheduledExecutorService scheduler;
+    private final Set<DelayedSend> delayedSends = ConcurrentHashMap.newKeySet();
+    private int prefetchDepth = Builder.DEFAULT_PREFETCH_DEPTH;
     private boolean closed = false;
     private static final Map<String, Class<? extends SearchResultEntity>> searchResultTypes = searchResultTypes();
     private static final Map<String, Class<? extends Target>> targetTypes = targetTypes();
@@ -114,6 +130,24 @@ public class Zendesk implements Closeable {
         this.mapper = createMapper();
     }
 
+    /**
+     * Account rate limit learned from {@code X-Rate-Limit} response headers.
+     *
+     * @return requests per minute, 0 if not known yet
+     */
+    public long getRateLimit() {
+        return (long) rateLimiter.getCapacity();
+    }
+
+    /**
+     * Current adaptive limit of requests in flight.
+     *
+     * @return number of requests, 0 if limiting is disabled
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimiter.getLimit();
+    }
+
 
     //////////////////////////////////////////////////////////////////////
     // Closeable interface methods
@@ -124,6 +158,13 @@ public class Zendesk implements Closeable {
     }
 
     public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        // requests delayed by rate limiter are never sent once scheduler is shut down
+        for (DelayedSend delayed : new ArrayList<>(delayedSends)) {
+            delayed.fail(new ZendeskException("Client closed before request was sent"));
+        }
         if (closeClient && !client.isClosed()) {
             try {
                 client.close();
@@ -358,8 +399,12 @@ public class Zendesk implements Closeable {
     }
 
     public List<ArticleAttachments> getAttachmentsFromArticle(Long articleID) {
-        return complete(submit(req("GET", tmpl("/help_center/articles/{id}/attachments.json").set("id", articleID)),
-                handleArticleAttachmentsList("article_attachments")));
+        return complete(getAttachmentsFromArticleAsync(articleID));
+    }
+
+    public CompletableFuture<List<ArticleAttachments>> getAttachmentsFromArticleAsync(Long articleID) {
+        return submitAsync(req("GET", tmpl("/help_center/articles/{id}/attachments.json").set("id", articleID)),
+                handleArticleAttachmentsList("article_attachments"));
     }
 
     public List<Ticket> getTickets(long id, long... ids) {
@@ -543,13 +588,17 @@ public class Zendesk implements Closeable {
     }
 
   public void associateAttachmentsToArticle(String idArticle, List<Attachment> attachments) {
+        complete(associateAttachmentsToArticleAsync(idArticle, attachments));
+  }
+
+    public CompletableFuture<Void> associateAttachmentsToArticleAsync(String idArticle, List<Attachment> attachments) {
         TemplateUri uri = tmpl("/help_center/articles/{article_id}/bulk_attachments.json").set("article_id", idArticle);
         List<Long> attachmentsIds = new ArrayList<>();
         for(Attachment item : attachments){
             attachmentsIds.add(item.getId());
         }
-        complete(submit(req("POST", uri, JSON, json(Collections.singletonMap("attachment_ids", attachmentsIds))), handleStatus()));
-  }
+        return submitAsync(req("POST", uri, JSON, json(Collections.singletonMap("attachment_ids", attachmentsIds))), handleStatus());
+    }
 
     /**
      * Create upload article with inline false
@@ -559,16 +608,28 @@ public class Zendesk implements Closeable {
   }
 
   public ArticleAttachments createUploadArticle(long articleId, File file, boolean inline) throws IOException {
+        return complete(createUploadArticleAsync(articleId, file, inline));
+    }
+
+    public CompletableFuture<ArticleAttachments> createUploadArticleAsync(long articleId, File file, boolean inline) {
+        return createUploadArticleAsync(articleId, file, file.getName(), inline);
+    }
+
+    /**
+     * Upload given file as article attachment with given file name (content type is guessed from the name).
+     */
+    public CompletableFuture<ArticleAttachments> createUploadArticleAsync(long articleId, File file, String fileName, boolean inline) {
     RequestBuilder builder = reqBuilder("POST", tmpl("/help_center/articles/{id}/attachments.json").set("id", articleId).toString());
         builder.setHeader("Content-Type", "multipart/form-data");
 
         if (inline)
             builder.addBodyPart(new StringPart("inline", "true"));
 
+        String contentType = URLConnection.guessContentTypeFromName(fileName);
       builder.addBodyPart(
-            new FilePart("file", file, "application/octet-stream", StandardCharsets.UTF_8, file.getName()));
+            new FilePart("file", file, null == contentType ? "application/octet-stream" : contentType, StandardCharsets.UTF_8, fileName));
         final Request req = builder.build();
-        return complete(submit(req, handle(ArticleAttachments.class, "article_attachment")));
+        return submitAsync(req, handle(ArticleAttachments.class, "article_attachment"));
     }
 
     public void deleteUpload(Attachment.Upload upload) {
@@ -1688,8 +1749,12 @@ public class Zendesk implements Closeable {
      * @param id
      */
     public PermissionGroup getPermissionGroup(long id) {
-        return complete(submit(req("GET", tmpl("/guide/permission_groups/{id}.json").set("id", id)),
-                handle(PermissionGroup.class, "permission_group")));
+        return complete(getPermissionGroupAsync(id));
+    }
+
+    public CompletableFuture<PermissionGroup> getPermissionGroupAsync(long id) {
+        return submitAsync(req("GET", tmpl("/guide/permission_groups/{id}.json").set("id", id)),
+                handle(PermissionGroup.class, "permission_group"));
     }
     /**
      * Create permission group
@@ -1697,8 +1762,12 @@ public class Zendesk implements Closeable {
      * @param permissionGroup
      */
     public PermissionGroup createPermissionGroup(PermissionGroup permissionGroup) {
-        return complete(submit(req("POST", tmpl("/guide/permission_groups.json"),
-                JSON, json(Collections.singletonMap("permission_group", permissionGroup))), handle(PermissionGroup.class, "permission_group")));
+        return complete(createPermissionGroupAsync(permissionGroup));
+    }
+
+    public CompletableFuture<PermissionGroup> createPermissionGroupAsync(PermissionGroup permissionGroup) {
+        return submitAsync(req("POST", tmpl("/guide/permission_groups.json"),
+                JSON, json(Collections.singletonMap("permission_group", permissionGroup))), handle(PermissionGroup.class, "permission_group"));
     }
     /**
      * Update permission group
@@ -1706,9 +1775,13 @@ public class Zendesk implements Closeable {
      * @param permissionGroup
      */
     public PermissionGroup updatePermissionGroup(PermissionGroup permissionGroup) {
+        return complete(updatePermissionGroupAsync(permissionGroup));
+    }
+
+    public CompletableFuture<PermissionGroup> updatePermissionGroupAsync(PermissionGroup permissionGroup) {
         checkHasId(permissionGroup);
-        return complete(submit(req("PUT", tmpl("/guide/permission_groups/{id}.json").set("id", permissionGroup.getId()),
-                JSON, json(Collections.singletonMap("permission_group", permissionGroup))), handle(PermissionGroup.class, "permission_group")));
+        return submitAsync(req("PUT", tmpl("/guide/permission_groups/{id}.json").set("id", permissionGroup.getId()),
+                JSON, json(Collections.singletonMap("permission_group", permissionGroup))), handle(PermissionGroup.class, "permission_group"));
     }
     /**
      * Delete permission group
@@ -1719,14 +1792,23 @@ public class Zendesk implements Closeable {
         checkHasId(permissionGroup);
         deletePermissionGroup(permissionGroup.getId());
     }
+
+    public CompletableFuture<Void> deletePermissionGroupAsync(PermissionGroup permissionGroup) {
+        checkHasId(permissionGroup);
+        return deletePermissionGroupAsync(permissionGroup.getId());
+    }
     /**
      * Delete permission group
      *
      * @param id
      */
     public void deletePermissionGroup(long id) {
-        complete(submit(req("DELETE", tmpl("/guide/permission_groups/{id}.json").set("id", id)),
-                handleStatus()));
+        complete(deletePermissionGroupAsync(id));
+    }
+
+    public CompletableFuture<Void> deletePermissionGroupAsync(long id) {
+        return submitAsync(req("DELETE", tmpl("/guide/permission_groups/{id}.json").set("id", id)),
+                handleStatus());
     }
     /**
      * Get user segments
@@ -1761,8 +1843,12 @@ public class Zendesk implements Closeable {
      * @param id
      */
     public UserSegment getUserSegment(long id) {
-        return complete(submit(req("GET", tmpl("/help_center/user_segments/{id}.json").set("id", id)),
-                handle(UserSegment.class, "user_segment")));
+        return complete(getUserSegmentAsync(id));
+    }
+
+    public CompletableFuture<UserSegment> getUserSegmentAsync(long id) {
+        return submitAsync(req("GET", tmpl("/help_center/user_segments/{id}.json").set("id", id)),
+                handle(UserSegment.class, "user_segment"));
     }
 
     /**
@@ -1797,8 +1883,12 @@ public class Zendesk implements Closeable {
      * @param userSegment
      */
     public UserSegment createUserSegment(UserSegment userSegment) {
-        return complete(submit(req("POST", tmpl("/help_center/user_segments.json"),
-                JSON, json(Collections.singletonMap("user_segment", userSegment))), handle(UserSegment.class, "user_segment")));
+        return complete(createUserSegmentAsync(userSegment));
+    }
+
+    public CompletableFuture<UserSegment> createUserSegmentAsync(UserSegment userSegment) {
+        return submitAsync(req("POST", tmpl("/help_center/user_segments.json"),
+                JSON, json(Collections.singletonMap("user_segment", userSegment))), handle(UserSegment.class, "user_segment"));
     }
     /**
      * Update User Segment
@@ -1806,9 +1896,13 @@ public class Zendesk implements Closeable {
      * @param userSegment
      */
     public UserSegment updateUserSegment(UserSegment userSegment) {
+        return complete(updateUserSegmentAsync(userSegment));
+    }
+
+    public CompletableFuture<UserSegment> updateUserSegmentAsync(UserSegment userSegment) {
         checkHasId(userSegment);
-        return complete(submit(req("PUT", tmpl("/help_center/user_segments/{id}.json").set("id", userSegment.getId()),
-                JSON, json(Collections.singletonMap("user_segment", userSegment))), handle(UserSegment.class, "user_segment")));
+        return submitAsync(req("PUT", tmpl("/help_center/user_segments/{id}.json").set("id", userSegment.getId()),
+                JSON, json(Collections.singletonMap("user_segment", userSegment))), handle(UserSegment.class, "user_segment"));
     }
     /**
      * Delete User Segment
@@ -1820,20 +1914,33 @@ public class Zendesk implements Closeable {
         deleteUserSegment(userSegment.getId());
     }
 
+    public CompletableFuture<Void> deleteUserSegmentAsync(UserSegment userSegment) {
+        checkHasId(userSegment);
+        return deleteUserSegmentAsync(userSegment.getId());
+    }
+
     /**
      * Delete User Segment
      *
      * @param id
      */
     public void deleteUserSegment(long id) {
-        complete(submit(req("DELETE", tmpl("/help_center/user_segments/{id}.json").set("id", id)),
-                handleStatus()));
+        complete(deleteUserSegmentAsync(id));
+    }
+
+    public CompletableFuture<Void> deleteUserSegmentAsync(long id) {
+        return submitAsync(req("DELETE", tmpl("/help_center/user_segments/{id}.json").set("id", id)),
+                handleStatus());
     }
 
     public List<String> getHelpCenterLocales() {
-        return complete(submit(
+        return complete(getHelpCenterLocalesAsync());
+    }
+
+    public CompletableFuture<List<String>> getHelpCenterLocalesAsync() {
+        return submitAsync(
                 req("GET", cnst("/help_center/locales.json")),
-                handle(List.class, "locales")));
+                handleList(String.class, "locales"));
     }
 
     /**
@@ -1868,13 +1975,21 @@ public class Zendesk implements Closeable {
     }
 
     public List<Article> getArticlesFromPage(int page) {
-        return complete(submit(req("GET", tmpl("/help_center/articles.json?page={page}").set("page", page)),
-                handleList(Article.class, "articles")));
+        return complete(getArticlesFromPageAsync(page));
+    }
+
+    public CompletableFuture<List<Article>> getArticlesFromPageAsync(int page) {
+        return submitAsync(req("GET", tmpl("/help_center/articles.json?page={page}").set("page", page)),
+                handleList(Article.class, "articles"));
     }
 
     public Article getArticle(long id) {
-        return complete(submit(req("GET", tmpl("/help_center/articles/{id}.json").set("id", id)),
-                handle(Article.class, "article")));
+        return complete(getArticleAsync(id));
+    }
+
+    public CompletableFuture<Article> getArticleAsync(long id) {
+        return submitAsync(req("GET", tmpl("/help_center/articles/{id}.json").set("id", id)),
+                handle(Article.class, "article"));
     }
 
     public Iterable<Translation> getArticleTranslations(Long articleId) {
@@ -1883,45 +1998,104 @@ public class Zendesk implements Closeable {
                 handleList(Translation.class, "translations"));
     }
 
+    /**
+     * Get first page of article translations (there is one translation per locale).
+     */
+    public CompletableFuture<List<Translation>> getArticleTranslationsAsync(Long articleId) {
+        return submitAsync(req("GET", tmpl("/help_center/articles/{articleId}/translations.json").set("articleId", articleId)),
+                handleList(Translation.class, "translations"));
+    }
+
     public Article createArticle(Article article) {
+        return complete(createArticleAsync(article));
+    }
+
+    public CompletableFuture<Article> createArticleAsync(Article article) {
         checkHasSectionId(article);
-        return complete(submit(req("POST", tmpl("/help_center/sections/{id}/articles.json").set("id", article.getSectionId()),
-                JSON, json(Collections.singletonMap("article", article))), handle(Article.class, "article")));
+        return submitAsync(req("POST", tmpl("/help_center/sections/{id}/articles.json").set("id", article.getSectionId()),
+                JSON, json(Collections.singletonMap("article", article))), handle(Article.class, "article"));
     }
 
     public Article createArticle(Article article, boolean notifySubscribers) {
+        return complete(createArticleAsync(article, notifySubscribers));
+    }
+
+    public CompletableFuture<Article> createArticleAsync(Article article, boolean notifySubscribers) {
         checkHasSectionId(article);
 
         Map map = new HashMap<String, Object>();
         map.put("article", article);
         map.put("notify_subscribers", notifySubscribers ? String.valueOf("true") : String.valueOf("false"));
 
-        return complete(submit(req("POST", tmpl("/help_center/sections/{id}/articles.json").set("id", article.getSectionId()),
-                JSON, json(Collections.unmodifiableMap(map))), handle(Article.class, "article")));
+        return submitAsync(req("POST", tmpl("/help_center/sections/{id}/articles.json").set("id", article.getSectionId()),
+                JSON, json(Collections.unmodifiableMap(map))), handle(Article.class, "article"));
     }
 
     public Article updateArticle(Article article) {
+        return complete(updateArticleAsync(article));
+    }
+
+    public CompletableFuture<Article> updateArticleAsync(Article article) {
         checkHasId(article);
-        return complete(submit(req("PUT", tmpl("/help_center/articles/{id}.json").set("id", article.getId()),
-                JSON, json(Collections.singletonMap("article", article))), handle(Article.class, "article")));
+        return submitAsync(req("PUT", tmpl("/help_center/articles/{id}.json").set("id", article.getId()),
+                JSON, json(Collections.singletonMap("article", article))), handle(Article.class, "article"));
     }
 
     public Translation createArticleTranslation(Long articleId, Translation translation) {
+        return complete(createArticleTranslationAsync(articleId, translation));
+    }
+
+    public CompletableFuture<Translation> createArticleTranslationAsync(Long articleId, Translation translation) {
         checkHasArticleId(articleId);
-        return complete(submit(req("POST", tmpl("/help_center/articles/{id}/translations.json").set("id", articleId),
-                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation")));
+        return submitAsync(req("POST", tmpl("/help_center/articles/{id}/translations.json").set("id", articleId),
+                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation"));
     }
 
     public Translation updateArticleTranslation(Long articleId, String locale, Translation translation) {
+        return complete(updateArticleTranslationAsync(articleId, locale, translation));
+    }
+
+    public CompletableFuture<Translation> updateArticleTranslationAsync(Long articleId, String locale, Translation translation) {
         checkHasId(translation);
-        return complete(submit(req("PUT", tmpl("/help_center/articles/{id}/translations/{locale}.json").set("id", articleId).set("locale",locale),
-                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation")));
+        return submitAsync(req("PUT", tmpl("/help_center/articles/{id}/translations/{locale}.json").set("id", articleId).set("locale",locale),
+                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation"));
+    }
+
+    /**
+     * Update given fields of an article (e.g. {@code position} or {@code label_names}), other fields are not sent.
+     */
+    public Article updateArticleFields(Long articleId, Map<String, Object> fields) {
+        return complete(updateArticleFieldsAsync(articleId, fields));
+    }
+
+    public CompletableFuture<Article> updateArticleFieldsAsync(Long articleId, Map<String, Object> fields) {
+        checkHasArticleId(articleId);
+        return submitAsync(req("PUT", tmpl("/help_center/articles/{id}.json").set("id", articleId),
+                JSON, json(Collections.singletonMap("article", fields))), handle(Article.class, "article"));
+    }
+
+    /**
+     * Update given fields ({@code title}, {@code body}, {@code draft}) of article translation to given locale,
+     * other fields are not sent and translation id is not needed.
+     */
+    public Translation updateArticleTranslationFields(Long articleId, String locale, Map<String, Object> fields) {
+        return complete(updateArticleTranslationFieldsAsync(articleId, locale, fields));
+    }
+
+    public CompletableFuture<Translation> updateArticleTranslationFieldsAsync(Long articleId, String locale, Map<String, Object> fields) {
+        checkHasArticleId(articleId);
+        return submitAsync(req("PUT", tmpl("/help_center/articles/{id}/translations/{locale}.json").set("id", articleId).set("locale", locale),
+                JSON, json(Collections.singletonMap("translation", fields))), handle(Translation.class, "translation"));
     }
 
     public void deleteArticle(Article article) {
+        complete(deleteArticleAsync(article));
+    }
+
+    public CompletableFuture<Void> deleteArticleAsync(Article article) {
         checkHasId(article);
-        complete(submit(req("DELETE", tmpl("/help_center/articles/{id}.json").set("id", article.getId())),
-                handleStatus()));
+        return submitAsync(req("DELETE", tmpl("/help_center/articles/{id}.json").set("id", article.getId())),
+                handleStatus());
     }
 
     /**
@@ -1933,13 +2107,22 @@ public class Zendesk implements Closeable {
         deleteTranslation(translation.getId());
     }
 
+    public CompletableFuture<Void> deleteTranslationAsync(Translation translation) {
+        checkHasId(translation);
+        return deleteTranslationAsync(translation.getId());
+    }
+
     /**
      * Delete translation.
      * @param translationId
      */
     public void deleteTranslation(Long translationId) {
-        complete(submit(req("DELETE", tmpl("/help_center/translations/{id}.json").set("id", translationId)),
-                handleStatus()));
+        complete(deleteTranslationAsync(translationId));
+    }
+
+    public CompletableFuture<Void> deleteTranslationAsync(Long translationId) {
+        return submitAsync(req("DELETE", tmpl("/help_center/translations/{id}.json").set("id", translationId)),
+                handleStatus());
     }
 
     /**
@@ -1951,12 +2134,21 @@ public class Zendesk implements Closeable {
         deleteArticleAttachment(attachment.getId());
     }
 
+    public CompletableFuture<Void> deleteArticleAttachmentAsync(ArticleAttachments attachment) {
+        checkHasId(attachment);
+        return deleteArticleAttachmentAsync(attachment.getId());
+    }
+
     /**
      * Delete attachment from article.
      * @param id attachment identifier.
      */
     public void deleteArticleAttachment(long id) {
-        complete(submit(req("DELETE", tmpl("/help_center/articles/attachments/{id}.json").set("id", id)), handleStatus()));
+        complete(deleteArticleAttachmentAsync(id));
+    }
+
+    public CompletableFuture<Void> deleteArticleAttachmentAsync(long id) {
+        return submitAsync(req("DELETE", tmpl("/help_center/articles/attachments/{id}.json").set("id", id)), handleStatus());
     }
 
     public Iterable<Category> getCategories() {
@@ -1965,8 +2157,12 @@ public class Zendesk implements Closeable {
     }
 
     public Category getCategory(long id) {
-        return complete(submit(req("GET", tmpl("/help_center/categories/{id}.json").set("id", id)),
-                handle(Category.class, "category")));
+        return complete(getCategoryAsync(id));
+    }
+
+    public CompletableFuture<Category> getCategoryAsync(long id) {
+        return submitAsync(req("GET", tmpl("/help_center/categories/{id}.json").set("id", id)),
+                handle(Category.class, "category"));
     }
 
     public Iterable<Translation> getCategoryTranslations(Long categoryId) {
@@ -1974,33 +2170,69 @@ public class Zendesk implements Closeable {
                 tmpl("/help_center/categories/{categoryId}/translations.json").set("categoryId", categoryId),
                 handleList(Translation.class, "translations"));
     }
+
+    /**
+     * Get first page of category translations (there is one translation per locale).
+     */
+    public CompletableFuture<List<Translation>> getCategoryTranslationsAsync(Long categoryId) {
+        return submitAsync(req("GET", tmpl("/help_center/categories/{categoryId}/translations.json").set("categoryId", categoryId)),
+                handleList(Translation.class, "translations"));
+    }
     public Category createCategory(Category category) {
-        return complete(submit(req("POST", cnst("/help_center/categories.json"),
-                JSON, json(Collections.singletonMap("category", category))), handle(Category.class, "category")));
+        return complete(createCategoryAsync(category));
+    }
+
+    public CompletableFuture<Category> createCategoryAsync(Category category) {
+        return submitAsync(req("POST", cnst("/help_center/categories.json"),
+                JSON, json(Collections.singletonMap("category", category))), handle(Category.class, "category"));
     }
 
     public Category updateCategory(Category category) {
+        return complete(updateCategoryAsync(category));
+    }
+
+    public CompletableFuture<Category> updateCategoryAsync(Category category) {
         checkHasId(category);
-        return complete(submit(req("PUT", tmpl("/help_center/categories/{id}.json").set("id", category.getId()),
-                JSON, json(Collections.singletonMap("category", category))), handle(Category.class, "category")));
+        return submitAsync(req("PUT", tmpl("/help_center/categories/{id}.json").set("id", category.getId()),
+                JSON, json(Collections.singletonMap("category", category))), handle(Category.class, "category"));
+    }
+
+    /**
+     * Update given fields of a category (e.g. {@code position}), other fields are not sent.
+     */
+    public Category updateCategoryFields(Long categoryId, Map<String, Object> fields) {
+        return complete(submit(req("PUT", tmpl("/help_center/categories/{id}.json").set("id", categoryId),
+                JSON, json(Collections.singletonMap("category", fields))), handle(Category.class, "category")));
     }
 
     public Translation createCategoryTranslation(Long categoryId, Translation translation) {
+        return complete(createCategoryTranslationAsync(categoryId, translation));
+    }
+
+    public CompletableFuture<Translation> createCategoryTranslationAsync(Long categoryId, Translation translation) {
         checkHasCategoryId(categoryId);
-        return complete(submit(req("POST", tmpl("/help_center/categories/{id}/translations.json").set("id", categoryId),
-                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation")));
+        return submitAsync(req("POST", tmpl("/help_center/categories/{id}/translations.json").set("id", categoryId),
+                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation"));
     }
 
     public Translation updateCategoryTranslation(Long categoryId, String locale, Translation translation) {
+        return complete(updateCategoryTranslationAsync(categoryId, locale, translation));
+    }
+
+    public CompletableFuture<Translation> updateCategoryTranslationAsync(Long categoryId, String locale, Translation translation) {
         checkHasId(translation);
-        return complete(submit(req("PUT", tmpl("/help_center/categories/{id}/translations/{locale}.json").set("id", categoryId).set("locale",locale),
-                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation")));
+        return submitAsync(req("PUT", tmpl("/help_center/categories/{id}/translations/{locale}.json").set("id", categoryId).set("locale",locale),
+                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation"));
     }
 
     public void deleteCategory(Category category) {
+        complete(deleteCategoryAsync(category));
+    }
+
+    public CompletableFuture<Void> deleteCategoryAsync(Category category) {
         checkHasId(category);
-        complete(submit(req("DELETE", tmpl("/help_center/categories/{id}.json").set("id", category.getId())),
-                handleStatus()));
+        return submitAsync(req("DELETE", tmpl("/help_center/categories/{id}.json").set("id", category.getId())),
+                handleStatus());
     }
 
     public Iterable<Section> getSections() {
@@ -2016,8 +2248,12 @@ public class Zendesk implements Closeable {
     }
 
     public Section getSection(long id) {
-        return complete(submit(req("GET", tmpl("/help_center/sections/{id}.json").set("id", id)),
-                handle(Section.class, "section")));
+        return complete(getSectionAsync(id));
+    }
+
+    public CompletableFuture<Section> getSectionAsync(long id) {
+        return submitAsync(req("GET", tmpl("/help_center/sections/{id}.json").set("id", id)),
+                handle(Section.class, "section"));
     }
 
     public Iterable<Translation> getSectionTranslations(Long sectionId) {
@@ -2025,34 +2261,70 @@ public class Zendesk implements Closeable {
                 tmpl("/help_center/sections/{sectionId}/translations.json").set("sectionId", sectionId),
                 handleList(Translation.class, "translations"));
     }
+
+    /**
+     * Get first page of section translations (there is one translation per locale).
+     */
+    public CompletableFuture<List<Translation>> getSectionTranslationsAsync(Long sectionId) {
+        return submitAsync(req("GET", tmpl("/help_center/sections/{sectionId}/translations.json").set("sectionId", sectionId)),
+                handleList(Translation.class, "translations"));
+    }
     public Section createSection(Section section) {
+        return complete(createSectionAsync(section));
+    }
+
+    public CompletableFuture<Section> createSectionAsync(Section section) {
         checkHasCategoryId(section);
-        return complete(submit(req("POST", tmpl("/help_center/categories/{id}/sections.json").set("id", section.getCategoryId()),
-                JSON, json(Collections.singletonMap("section", section))), handle(Section.class, "section")));
+        return submitAsync(req("POST", tmpl("/help_center/categories/{id}/sections.json").set("id", section.getCategoryId()),
+                JSON, json(Collections.singletonMap("section", section))), handle(Section.class, "section"));
     }
 
     public Section updateSection(Section section) {
+        return complete(updateSectionAsync(section));
+    }
+
+    public CompletableFuture<Section> updateSectionAsync(Section section) {
         checkHasId(section);
-        return complete(submit(req("PUT", tmpl("/help_center/sections/{id}.json").set("id", section.getId()),
-                JSON, json(Collections.singletonMap("section", section))), handle(Section.class, "section")));
+        return submitAsync(req("PUT", tmpl("/help_center/sections/{id}.json").set("id", section.getId()),
+                JSON, json(Collections.singletonMap("section", section))), handle(Section.class, "section"));
+    }
+
+    /**
+     * Update given fields of a section (e.g. {@code position}), other fields are not sent.
+     */
+    public Section updateSectionFields(Long sectionId, Map<String, Object> fields) {
+        return complete(submit(req("PUT", tmpl("/help_center/sections/{id}.json").set("id", sectionId),
+                JSON, json(Collections.singletonMap("section", fields))), handle(Section.class, "section")));
     }
 
     public Translation createSectionTranslation(Long sectionId, Translation translation) {
+        return complete(createSectionTranslationAsync(sectionId, translation));
+    }
+
+    public CompletableFuture<Translation> createSectionTranslationAsync(Long sectionId, Translation translation) {
         checkHasSectionId(sectionId);
-        return complete(submit(req("POST", tmpl("/help_center/sections/{id}/translations.json").set("id", sectionId),
-                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation")));
+        return submitAsync(req("POST", tmpl("/help_center/sections/{id}/translations.json").set("id", sectionId),
+                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation"));
     }
 
     public Translation updateSectionTranslation(Long sectionId, String locale, Translation translation) {
+        return complete(updateSectionTranslationAsync(sectionId, locale, translation));
+    }
+
+    public CompletableFuture<Translation> updateSectionTranslationAsync(Long sectionId, String locale, Translation translation) {
         checkHasId(translation);
-        return complete(submit(req("PUT", tmpl("/help_center/sections/{id}/translations/{locale}.json").set("id", sectionId).set("locale",locale),
-                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation")));
+        return submitAsync(req("PUT", tmpl("/help_center/sections/{id}/translations/{locale}.json").set("id", sectionId).set("locale",locale),
+                JSON, json(Collections.singletonMap("translation", translation))), handle(Translation.class, "translation"));
     }
 
     public void deleteSection(Section section) {
+        complete(deleteSectionAsync(section));
+    }
+
+    public CompletableFuture<Void> deleteSectionAsync(Section section) {
         checkHasId(section);
-        complete(submit(req("DELETE", tmpl("/help_center/sections/{id}.json").set("id", section.getId())),
-                handleStatus()));
+        return submitAsync(req("DELETE", tmpl("/help_center/sections/{id}.json").set("id", section.getId())),
+                handleStatus());
     }
 
     public Iterable<Subscription> getUserSubscriptions(User user) {
@@ -2131,6 +2403,126 @@ public class Zendesk implements Closeable {
     }
 
     private <T> ListenableFuture<T> submit(Request request, ZendeskAsyncCompletionHandler<T> handler) {
+        concurrencyLimiter.acquire();
+        ListenableFuture<T> future;
+        long sent;
+        try {
+            rateLimiter.acquire();
+            sent = System.nanoTime();
+            future = execute(request, handler);
+        } catch (RuntimeException e) {
+            concurrencyLimiter.release(0, 0);
+            throw e;
+        }
+        future.toCompletableFuture().whenComplete((value, error) ->
+            concurrencyLimiter.release(statusCode(error), System.nanoTime() - sent));
+        return future;
+    }
+
+    /**
+     * HTTP status of completed request: 200 if it succeeded, status of error response or 0 if there was none.
+     */
+    private static int statusCode(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof ZendeskResponseException) {
+                return ((ZendeskResponseException) e).getStatusCode();
+            }
+        }
+        return error == null ? 200 : 0;
+    }
+
+    /**
+     * Submit request without blocking calling thread: if concurrency limit requires request to wait, it is
+     * sent from the thread completing a request in flight, and if rate limiter requires request to be delayed,
+     * it is sent later from scheduler thread (or failed if client is closed first). Returned future is completed
+     * with {@link ZendeskException} on failure.
+     */
+    private <T> CompletableFuture<T> submitAsync(Request request, ZendeskAsyncCompletionHandler<T> handler) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Consumer<Throwable> fail = e -> {
+            concurrencyLimiter.release(0, 0);
+            result.completeExceptionally(zendeskException(e));
+        };
+        Runnable send = () -> {
+            long sent = System.nanoTime();
+            try {
+                execute(request, handler).toCompletableFuture().whenComplete((value, error) -> {
+                    concurrencyLimiter.release(statusCode(error), System.nanoTime() - sent);
+                    if (error == null) {
+                        result.complete(value);
+                    } else {
+                        result.completeExceptionally(zendeskException(error));
+                    }
+                });
+            } catch (RuntimeException e) {
+                fail.accept(e);
+            }
+        };
+        // the same limit of requests in flight as blocking requests have, without blocking while waiting for it
+        concurrencyLimiter.acquireAsync().thenRun(() -> {
+            try {
+                long delay = rateLimiter.reserve();
+                if (delay > 0) {
+                    DelayedSend delayed = new DelayedSend(send, fail);
+                    delayedSends.add(delayed);
+                    try {
+                        scheduler().schedule(delayed, delay, TimeUnit.NANOSECONDS);
+                    } catch (RuntimeException e) {
+                        delayedSends.remove(delayed);
+                        throw e;
+                    }
+                } else {
+                    send.run();
+                }
+            } catch (RuntimeException e) {
+                fail.accept(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Request delayed by rate limiter, either sent or failed (if client is closed first), but never both.
+     */
+    private class DelayedSend implements Runnable {
+        private final Runnable send;
+        private final Consumer<Throwable> fail;
+
+        DelayedSend(Runnable send, Consumer<Throwable> fail) {
+            this.send = send;
+            this.fail = fail;
+        }
+
+        @Override
+        public void run() {
+            if (delayedSends.remove(this)) {
+                send.run();
+            }
+        }
+
+        void fail(Throwable error) {
+            if (delayedSends.remove(this)) {
+                fail.accept(error);
+            }
+        }
+    }
+
+    private ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            synchronized (this) {
+                if (scheduler == null) {
+                    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread thread = new Thread(r, "zendesk-rate-limiter");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    private <T> ListenableFuture<T> execute(Request request, ZendeskAsyncCompletionHandler<T> handler) {
         if (logger.isDebugEnabled()) {
             if (request.getStringData() != null) {
                 logger.debug("Request {} {}\n{}", request.getMethod(), request.getUrl(), request.getStringData());
@@ -2187,7 +2579,7 @@ public class Zendesk implements Closeable {
         return new ZendeskAsyncCompletionHandler<Void>() {
             @Override
             public Void onCompleted(Response response) throws Exception {
-                logResponse(response);
+                processResponse(response);
                 if (isStatus2xx(response)) {
                     return null;
                 } else if (isRateLimitResponse(response)) {
@@ -2203,9 +2595,9 @@ public class Zendesk implements Closeable {
         return new ZendeskAsyncCompletionHandler<T>() {
             @Override
             public T onCompleted(Response response) throws Exception {
-                logResponse(response);
+                processResponse(response);
                 if (isStatus2xx(response)) {
-                    return (T) mapper.readerFor(clazz).readValue(response.getResponseBodyAsStream());
+                    return (T) reader(mapper.getTypeFactory().constructType(clazz)).readValue(response.getResponseBodyAsStream());
                 } else if (isRateLimitResponse(response)) {
                     throw new ZendeskResponseRateLimitException(response);
                 }
@@ -2230,13 +2622,12 @@ public class Zendesk implements Closeable {
 
         @Override
         public T onCompleted(Response response) throws Exception {
-            logResponse(response);
+            processResponse(response);
             if (isStatus2xx(response)) {
-                if (typeParams.length > 0) {
-                    JavaType type = mapper.getTypeFactory().constructParametricType(clazz, typeParams);
-                    return mapper.convertValue(mapper.readTree(response.getResponseBodyAsStream()).get(name), type);
-                }
-                return mapper.convertValue(mapper.readTree(response.getResponseBodyAsStream()).get(name), clazz);
+                JavaType type = typeParams.length > 0
+                        ? mapper.getTypeFactory().constructParametricType(clazz, typeParams)
+                        : mapper.getTypeFactory().constructType(clazz);
+                return readField(response, name, reader(type));
             } else if (isRateLimitResponse(response)) {
                 throw new ZendeskResponseRateLimitException(response);
             }
@@ -2267,19 +2658,108 @@ public class Zendesk implements Closeable {
     private static final String COUNT = "count";
     private static final int INCREMENTAL_EXPORT_MAX_COUNT_BY_REQUEST = 1000;
 
+    /**
+     * Pagination properties of list response.
+     */
+    private static class PageProperties {
+        private boolean hasNextPage = false; // if next_page property is present in response
+        private String nextPage;
+        private Long endTime;
+        private Integer count;
+
+        private static PageProperties of(JsonNode responseNode) {
+            PageProperties properties = new PageProperties();
+            JsonNode node = responseNode.get(NEXT_PAGE);
+            if (node != null) {
+                properties.hasNextPage = true;
+                properties.nextPage = node.isNull() ? null : node.asText();
+            }
+            node = responseNode.get(END_TIME);
+            if (node != null && !node.isNull()) {
+                properties.endTime = node.asLong();
+            }
+            node = responseNode.get(COUNT);
+            if (node != null && !node.isNull()) {
+                properties.count = node.asInt();
+            }
+            return properties;
+        }
+    }
+
+    private ObjectReader reader(JavaType type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * Read given field of response object, skipping other fields without building a tree.
+     */
+    private <T> T readField(Response response, String name, ObjectReader reader) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(response.getResponseBodyAsBytes())) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                if (parser.nextToken() != JsonToken.VALUE_NULL && name.equals(field)) {
+                    return reader.readValue(parser);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Read list field of response object binding elements one by one, pagination properties are collected
+     * on the way.
+     */
+    private <T> List<T> readList(Response response, String name, ObjectReader reader, PageProperties properties)
+            throws IOException {
+        List<T> values = new ArrayList<>();
+        try (JsonParser parser = mapper.getFactory().createParser(response.getResponseBodyAsBytes())) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (name.equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        values.add(reader.readValue(parser));
+                    }
+                } else if (NEXT_PAGE.equals(field)) {
+                    properties.hasNextPage = true;
+                    properties.nextPage = token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                } else if (END_TIME.equals(field) && token != JsonToken.VALUE_NULL) {
+                    properties.endTime = parser.getValueAsLong();
+                } else if (COUNT.equals(field) && token != JsonToken.VALUE_NULL) {
+                    properties.count = parser.getValueAsInt();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return values;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonMappingException(parser, "Expected " + expected + " but got " + actual);
+        }
+    }
+
     private abstract class PagedAsyncCompletionHandler<T> extends ZendeskAsyncCompletionHandler<T> {
         private String nextPage;
 
         public void setPagedProperties(JsonNode responseNode, Class<?> clazz) {
-            JsonNode node = responseNode.get(NEXT_PAGE);
-            if (node == null) {
+            setPagedProperties(PageProperties.of(responseNode), clazz);
+        }
+
+        public void setPagedProperties(PageProperties properties, Class<?> clazz) {
+            if (!properties.hasNextPage) {
                 this.nextPage = null;
                 if (logger.isDebugEnabled()) {
                     logger.debug(NEXT_PAGE + " property not found, pagination not supported" +
                         (clazz != null ? " for " + clazz.getName() : ""));
                 }
             } else {
-                this.nextPage = node.asText();
+                this.nextPage = properties.nextPage;
             }
         }
 
@@ -2302,14 +2782,11 @@ public class Zendesk implements Closeable {
 
         @Override
         public List<T> onCompleted(Response response) throws Exception {
-            logResponse(response);
+            processResponse(response);
             if (isStatus2xx(response)) {
-                JsonNode responseNode = mapper.readTree(response.getResponseBodyAsBytes());
-                setPagedProperties(responseNode, clazz);
-                List<T> values = new ArrayList<>();
-                for (JsonNode node : responseNode.get(name)) {
-                    values.add(mapper.convertValue(node, clazz));
-                }
+                PageProperties properties = new PageProperties();
+                List<T> values = readList(response, name, reader(mapper.getTypeFactory().constructType(clazz)), properties);
+                setPagedProperties(properties, clazz);
                 return values;
             } else if (isRateLimitResponse(response)) {
                 throw new ZendeskResponseRateLimitException(response);
@@ -2327,9 +2804,8 @@ public class Zendesk implements Closeable {
     protected <T> PagedAsyncCompletionHandler<List<T>> handleIncrementalList(final Class<T> clazz, final String name) {
         return new PagedAsyncListCompletionHandler<T>(clazz, name) {
             @Override
-            public void setPagedProperties(JsonNode responseNode, Class<?> clazz) {
-                JsonNode node = responseNode.get(NEXT_PAGE);
-                if (node == null) {
+            public void setPagedProperties(PageProperties properties, Class<?> clazz) {
+                if (!properties.hasNextPage) {
                     if (logger.isDebugEnabled()) {
                         logger.debug(NEXT_PAGE + " property not found, pagination not supported" +
                             (clazz != null ? " for " + clazz.getName() : ""));
@@ -2337,8 +2813,7 @@ public class Zendesk implements Closeable {
                     setNextPage(null);
                     return;
                 }
-                JsonNode endTimeNode = responseNode.get(END_TIME);
-                if (endTimeNode == null || endTimeNode.asLong() == 0) {
+                if (properties.endTime == null || properties.endTime == 0) {
                     if (logger.isDebugEnabled()) {
                         logger.debug(END_TIME + " property not found, incremental export pagination not supported" +
                             (clazz != null ? " for " + clazz.getName() : ""));
@@ -2350,12 +2825,11 @@ public class Zendesk implements Closeable {
                   A request after five minutes ago will result in a 422 responds from Zendesk.
                   Therefore, we stop pagination.
                  */
-                if (TimeUnit.SECONDS.toMillis(endTimeNode.asLong()) > System.currentTimeMillis() - FIVE_MINUTES) {
+                if (TimeUnit.SECONDS.toMillis(properties.endTime) > System.currentTimeMillis() - FIVE_MINUTES) {
                     setNextPage(null);
                 } else {
                     // Taking into account documentation found at https://developer.zendesk.com/rest_api/docs/core/incremental_export#polling-strategy
-                    JsonNode countNode = responseNode.get(COUNT);
-                    if (countNode == null) {
+                    if (properties.count == null) {
                         if (logger.isDebugEnabled()) {
                             logger.debug(COUNT + " property not found, incremental export pagination not supported" +
                                 (clazz != null ? " for " + clazz.getName() : ""));
@@ -2364,10 +2838,10 @@ public class Zendesk implements Closeable {
                         return;
                     }
 
-                    if (countNode.asInt() < INCREMENTAL_EXPORT_MAX_COUNT_BY_REQUEST) {
+                    if (properties.count < INCREMENTAL_EXPORT_MAX_COUNT_BY_REQUEST) {
                         setNextPage(null);
                     } else {
-                        setNextPage(node.asText());
+                        setNextPage(properties.nextPage);
                     }
                 }
             }
@@ -2378,7 +2852,7 @@ public class Zendesk implements Closeable {
         return new PagedAsyncCompletionHandler<List<SearchResultEntity>>() {
             @Override
             public List<SearchResultEntity> onCompleted(Response response) throws Exception {
-                logResponse(response);
+                processResponse(response);
                 if (isStatus2xx(response)) {
                     JsonNode responseNode = mapper.readTree(response.getResponseBodyAsStream()).get(name);
                     setPagedProperties(responseNode, null);
@@ -2402,7 +2876,7 @@ public class Zendesk implements Closeable {
         return new PagedAsyncCompletionHandler<List<Target>>() {
             @Override
             public List<Target> onCompleted(Response response) throws Exception {
-                logResponse(response);
+                processResponse(response);
                 if (isStatus2xx(response)) {
                     JsonNode responseNode = mapper.readTree(response.getResponseBodyAsBytes());
                     setPagedProperties(responseNode, null);
@@ -2427,14 +2901,10 @@ public class Zendesk implements Closeable {
         return new PagedAsyncCompletionHandler<List<ArticleAttachments>>() {
             @Override
             public List<ArticleAttachments> onCompleted(Response response) throws Exception {
-                logResponse(response);
+                processResponse(response);
                 if (isStatus2xx(response)) {
-                    JsonNode responseNode = mapper.readTree(response.getResponseBodyAsBytes());
-                    List<ArticleAttachments> values = new ArrayList<>();
-                    for (JsonNode node : responseNode.get(name)) {
-                        values.add(mapper.convertValue(node, ArticleAttachments.class));
-                    }
-                    return values;
+                    return readList(response, name,
+                            reader(mapper.getTypeFactory().constructType(ArticleAttachments.class)), new PageProperties());
                 } else if (isRateLimitResponse(response)) {
                     throw new ZendeskResponseRateLimitException(response);
                 }
@@ -2451,6 +2921,11 @@ public class Zendesk implements Closeable {
         return new FixedUri(url + template);
     }
 
+    private void processResponse(Response response) throws IOException {
+        rateLimiter.update(response);
+        logResponse(response);
+    }
+
     private void logResponse(Response response) throws IOException {
         if (logger.isDebugEnabled()) {
             logger.debug("Response HTTP/{} {}\n{}", response.getStatusCode(), response.getStatusText(),
@@ -2493,17 +2968,39 @@ public class Zendesk implements Closeable {
         } catch (InterruptedException e) {
             throw new ZendeskException(e.getMessage(), e);
         } catch (ExecutionException e) {
-            if (e.getCause() instanceof ZendeskException) {
-                if (e.getCause() instanceof ZendeskResponseRateLimitException) {
-                    throw new ZendeskResponseRateLimitException((ZendeskResponseRateLimitException) e.getCause());
-                }
-                if (e.getCause() instanceof ZendeskResponseException) {
-                    throw new ZendeskResponseException((ZendeskResponseException)e.getCause());
-                }
-                throw new ZendeskException(e.getCause());
-            }
+            throw rethrow(e);
+        }
+    }
+
+    private static <T> T complete(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
             throw new ZendeskException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    // wrap failure cause to get stack trace of the calling thread
+    private static ZendeskException rethrow(ExecutionException e) {
+        if (e.getCause() instanceof ZendeskException) {
+            if (e.getCause() instanceof ZendeskResponseRateLimitException) {
+                return new ZendeskResponseRateLimitException((ZendeskResponseRateLimitException) e.getCause());
+            }
+            if (e.getCause() instanceof ZendeskResponseException) {
+                return new ZendeskResponseException((ZendeskResponseException)e.getCause());
+            }
+            return new ZendeskException(e.getCause());
+        }
+        return new ZendeskException(e.getMessage(), e);
+    }
+
+    private static ZendeskException zendeskException(Throwable t) {
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
         }
+        return t instanceof ZendeskException ? (ZendeskException) t : new ZendeskException(t.getMessage(), t);
     }
 
     private static void checkHasId(Ticket ticket) {
@@ -2750,25 +3247,61 @@ public class Zendesk implements Closeable {
             return new PagedIterator(url);
         }
 
+        @Override
+        public Spliterator<T> spliterator() {
+            return new PagedSpliterator(new PagedIterator(url));
+        }
+
+        /**
+         * Page of values along with the link to the next page.
+         */
+        private class Page {
+            private final List<T> values;
+            private final String nextPage;
+
+            private Page(List<T> values, String nextPage) {
+                this.values = values;
+                this.nextPage = nextPage == null || nextPage.equalsIgnoreCase("null") ? null : nextPage;
+            }
+        }
+
+        // handler is shared by all iterators of this iterable, so page values and next page link are taken together
+        private class PageHandler extends ZendeskAsyncCompletionHandler<Page> {
+            @Override
+            public Page onCompleted(Response response) throws Exception {
+                synchronized (handler) {
+                    List<T> values = handler.onCompleted(response);
+                    return new Page(values, handler.getNextPage());
+                }
+            }
+        }
+
+        /**
+         * Iterator reading pages ahead: as soon as a page is received, request for the next one is sent,
+         * until {@link #prefetchDepth} pages are fetched but not yet consumed.
+         */
         private class PagedIterator implements Iterator<T> {
 
             private Iterator<T> current;
-            private String nextPage;
+            private final Deque<CompletableFuture<Page>> pages = new ArrayDeque<>();
+            private String nextPage; // next page to be requested once there is room for it
 
             public PagedIterator(Uri url) {
                 this.nextPage = url.toString();
+                synchronized (this) {
+                    prefetch();
+                }
             }
 
             public boolean hasNext() {
-                if (current == null || !current.hasNext()) {
-                    if (nextPage == null || nextPage.equalsIgnoreCase("null")) {
+                while (current == null || !current.hasNext()) {
+                    CompletableFuture<Page> page = nextPageFuture();
+                    if (page == null) {
                         return false;
                     }
-                    List<T> values = complete(submit(req("GET", nextPage), handler));
-                    nextPage = handler.getNextPage();
-                    current = values.iterator();
+                    current = complete(page).values.iterator();
                 }
-                return current.hasNext();
+                return true;
             }
 
             public T next() {
@@ -2781,12 +3314,105 @@ public class Zendesk implements Closeable {
             public void remove() {
                 throw new UnsupportedOperationException();
             }
+
+            /**
+             * Take remaining values of the current page along with all pages fetched so far
+             * (waiting for the next page if nothing is fetched yet).
+             */
+            List<T> nextBatch() {
+                List<T> batch = new ArrayList<>();
+                if (current != null) {
+                    current.forEachRemaining(batch::add);
+                }
+                synchronized (this) {
+                    while (!pages.isEmpty() && pages.peekFirst().isDone()) {
+                        batch.addAll(complete(pages.pollFirst()).values);
+                    }
+                    prefetch();
+                }
+                if (batch.isEmpty() && hasNext()) {
+                    current.forEachRemaining(batch::add);
+                }
+                return batch;
+            }
+
+            private synchronized CompletableFuture<Page> nextPageFuture() {
+                if (pages.isEmpty()) {
+                    if (nextPage == null) {
+                        return null;
+                    }
+                    request();
+                }
+                CompletableFuture<Page> page = pages.pollFirst();
+                prefetch();
+                return page;
+            }
+
+            // request next page if it is known (previous page received) and there is room for it
+            private void prefetch() {
+                if (nextPage != null && pages.size() < prefetchDepth) {
+                    request();
+                }
+            }
+
+            private void request() {
+                String url = nextPage;
+                nextPage = null;
+                pages.addLast(submitAsync(req("GET", url), new PageHandler()).whenComplete((page, error) -> {
+                    if (page != null) {
+                        synchronized (this) {
+                            nextPage = page.nextPage;
+                            prefetch();
+                        }
+                    }
+                }));
+            }
+        }
+
+        private class PagedSpliterator implements Spliterator<T> {
+
+            private final PagedIterator iterator;
+
+            private PagedSpliterator(PagedIterator iterator) {
+                this.iterator = iterator;
+            }
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                action.accept(iterator.next());
+                return true;
+            }
+
+            @Override
+            public Spliterator<T> trySplit() {
+                List<T> batch = iterator.nextBatch();
+                return batch.isEmpty() ? null : Spliterators.spliterator(batch, characteristics());
+            }
+
+            @Override
+            public long estimateSize() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public int characteristics() {
+                return Spliterator.ORDERED;
+            }
         }
 
     }
 
     public static class Builder {
+        public static final int DEFAULT_PREFETCH_DEPTH = 1;
+        public static final int DEFAULT_INITIAL_CONCURRENCY = ConcurrencyLimiter.DEFAULT_INITIAL_LIMIT;
+        public static final int DEFAULT_MAX_CONCURRENCY = ConcurrencyLimiter.DEFAULT_MAX_LIMIT;
         private AsyncHttpClient client = null;
+        private int prefetchDepth = DEFAULT_PREFETCH_DEPTH;
+        private int initialConcurrency = DEFAULT_INITIAL_CONCURRENCY;
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
         private final String url;
         private String username = null;
         private String password = null;
@@ -2842,6 +3468,29 @@ public class Zendesk implements Closeable {
             return this;
         }
 
+        /**
+         * Set number of pages to be fetched ahead while iterating over paged results (0 disables read-ahead).
+         */
+        public Builder setPrefetchDepth(int prefetchDepth) {
+            if (prefetchDepth < 0) {
+                throw new IllegalArgumentException("Prefetch depth cannot be negative");
+            }
+            this.prefetchDepth = prefetchDepth;
+            return this;
+        }
+
+        /**
+         * Set bounds of adaptive limit of requests in flight (non-positive maximum disables limiting).
+         */
+        public Builder setConcurrencyLimit(int initial, int max) {
+            if (initial < 1) {
+                throw new IllegalArgumentException("Initial concurrency limit must be positive");
+            }
+            this.initialConcurrency = initial;
+            this.maxConcurrency = max;
+            return this;
+        }
+
         public Builder addHeader(String name, String value) {
             Objects.requireNonNull(name, "Header name cannot be null");
             Objects.requireNonNull(value, "Header value cannot be null");
@@ -2850,12 +3499,17 @@ public class Zendesk implements Closeable {
         }
 
         public org.zendesk.client.v2.Zendesk build() {
+            org.zendesk.client.v2.Zendesk zendesk;
             if (token != null) {
-                return new org.zendesk.client.v2.Zendesk(client, url, username + "/token", token, headers);
+                zendesk = new org.zendesk.client.v2.Zendesk(client, url, username + "/token", token, headers);
             } else if (oauthToken != null) {
-                return new org.zendesk.client.v2.Zendesk(client, url, oauthToken, headers);
+                zendesk = new org.zendesk.client.v2.Zendesk(client, url, oauthToken, headers);
+            } else {
+                zendesk = new org.zendesk.client.v2.Zendesk(client, url, username, password, headers);
             }
-            return new org.zendesk.client.v2.Zendesk(client, url, username, password, headers);
+            zendesk.prefetchDepth = prefetchDepth;
+            zendesk.concurrencyLimiter = new ConcurrencyLimiter(initialConcurrency, maxConcurrency);
+            return zendesk;
         }
     }
 }